@@ -0,0 +1,58 @@
+package io.kestra.plugin.typesense;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.kestra.core.serializers.FileSerde;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Synthetic product documents shared by the benchmarks: a few strings, numbers, a tag array and an embedding, of 16
+ * dimensions unless stated otherwise.
+ */
+final class BenchmarkDocuments {
+    private BenchmarkDocuments() {
+    }
+
+    static List<Map<String, Object>> documents(int count) {
+        return documents(count, 16);
+    }
+
+    static List<Map<String, Object>> documents(int count, int dimensions) {
+        List<Map<String, Object>> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("id", String.valueOf(i));
+            document.put("title", "Product " + i);
+            document.put("description", "A reasonably long description for the product number " + i + " used to size documents realistically");
+            document.put("price", i * 1.25);
+            document.put("stock", i % 100);
+            document.put("tags", List.of("tag" + i % 7, "tag" + i % 11));
+            List<Double> embedding = new ArrayList<>(dimensions);
+            for (int j = 0; j < dimensions; j++) {
+                embedding.add(Math.sin(i + j));
+            }
+            document.put("embedding", embedding);
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    /**
+     * Encodes the documents as an Amazon ION file, as produced by the upstream Kestra tasks.
+     */
+    static byte[] ion(int count) throws IOException {
+        return ion(count, 16);
+    }
+
+    static byte[] ion(int count, int dimensions) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        FileSerde.writeAll(output, Flux.fromIterable(documents(count, dimensions))).block();
+        return output.toByteArray();
+    }
+}
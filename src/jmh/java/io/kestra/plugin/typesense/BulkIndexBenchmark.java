@@ -0,0 +1,154 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Hot paths of {@link BulkIndex}, each operation processing the whole input file. Divide the throughput by
+ * {@code documents} for documents per second.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkIndexBenchmark {
+    private static final byte[] NEW_LINE = {'\n'};
+
+    @Param({"10000"})
+    int documents;
+
+    @Param({"1000"})
+    int chunk;
+
+    @Param({"16", "768"})
+    int dimensions;
+
+    private byte[] ion;
+    private List<byte[]> lines;
+    private TypesenseStubServer server;
+    private TypesenseHttpClient httpClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ion = BenchmarkDocuments.ion(documents, dimensions);
+        lines = IonJsonLines.read(new ByteArrayInputStream(ion)).collectList().block();
+        server = new TypesenseStubServer(10);
+        httpClient = new TypesenseHttpClient(server.settings());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    /**
+     * Baseline decode of the ION file into one map per record.
+     */
+    @Benchmark
+    public long ionDecode() throws IOException {
+        try (InputStream input = new BufferedInputStream(new ByteArrayInputStream(ion), FileSerde.BUFFER_SIZE)) {
+            return FileSerde.readAll(input).count().block();
+        }
+    }
+
+    /**
+     * ION to JSON lines transcoding used by the import pipeline.
+     */
+    @Benchmark
+    public long ionToJsonLines() throws IOException {
+        try (InputStream input = new BufferedInputStream(new ByteArrayInputStream(ion), FileSerde.BUFFER_SIZE)) {
+            return IonJsonLines.read(input).count().block();
+        }
+    }
+
+    /**
+     * ION to JSON lines transcoding with the embedding read as a primitive float vector.
+     */
+    @Benchmark
+    public long ionToJsonLinesWithVectors() throws IOException {
+        try (InputStream input = new BufferedInputStream(new ByteArrayInputStream(ion), FileSerde.BUFFER_SIZE)) {
+            return IonJsonLines.read(input, Set.of("embedding")).count().block();
+        }
+    }
+
+    /**
+     * JSONL serialization through maps, for comparison with {@link #ionToJsonLines()}.
+     */
+    @Benchmark
+    public long jsonLinesFromMaps() throws IOException {
+        try (InputStream input = new BufferedInputStream(new ByteArrayInputStream(ion), FileSerde.BUFFER_SIZE)) {
+            return FileSerde.readAll(input)
+                .map(row -> {
+                    try {
+                        return JacksonMapper.ofJson().writeValueAsBytes(row);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .count().block();
+        }
+    }
+
+    @Benchmark
+    public long chunking() {
+        return BulkIndex.chunks(Flux.fromIterable(lines), new ChunkSizer(chunk, null, false, Duration.ofSeconds(2)))
+            .count().block();
+    }
+
+    @Benchmark
+    public long chunkingByBytes() {
+        return BulkIndex.chunks(Flux.fromIterable(lines), new ChunkSizer(chunk, 256L * 1024, false, Duration.ofSeconds(2)))
+            .count().block();
+    }
+
+    /**
+     * Streams every chunk to the stub import endpoint and reads the JSONL answer, as the import does.
+     */
+    @Benchmark
+    public long importRoundTrip() throws Exception {
+        long received = 0;
+        for (int start = 0; start < lines.size(); start += chunk) {
+            List<byte[]> body = new ArrayList<>(chunk * 2);
+            long length = 0;
+            for (byte[] line : lines.subList(start, Math.min(start + chunk, lines.size()))) {
+                body.add(line);
+                body.add(NEW_LINE);
+                length += line.length + 1;
+            }
+
+            try (InputStream response = httpClient.send(
+                "POST",
+                TypesenseHttpClient.collectionPath("products", "/documents/import"),
+                Map.of("action", "upsert"),
+                HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofByteArrays(body), length)
+            )) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                response.transferTo(output);
+                received += output.size();
+            }
+        }
+        return received;
+    }
+}
@@ -0,0 +1,73 @@
+package io.kestra.plugin.typesense;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.typesense.api.Client;
+import org.typesense.model.SearchParameters;
+import org.typesense.model.SearchResult;
+
+/**
+ * Search round trips against the stub server, measuring client-side request building and result decoding.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SearchBenchmark {
+
+    @Param({"10", "250"})
+    int hits;
+
+    private TypesenseStubServer server;
+    private Client client;
+    private TypesenseHttpClient httpClient;
+    private SearchParameters searchParameters;
+    private Map<String, Object> multiSearchBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new TypesenseStubServer(hits);
+        TypesenseConnection connection = TypesenseConnection.of(server.settings());
+        client = connection.client();
+        httpClient = connection.httpClient();
+        searchParameters = Search.searchParameters("product", "title,description", "stock:>10", "price:desc").perPage(hits);
+        multiSearchBody = Map.of("searches", List.of(Map.of(
+            "collection", "products",
+            "q", "product",
+            "query_by", "title,description",
+            "per_page", hits
+        )));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    /**
+     * Single page search through typesense-java, as done by {@link Search}.
+     */
+    @Benchmark
+    public int searchRoundTrip() throws Exception {
+        SearchResult result = client.collections("products").documents().search(searchParameters);
+        return result.getHits().size();
+    }
+
+    /**
+     * One query sent through {@code multi_search}, as done by {@link MultiSearch}.
+     */
+    @Benchmark
+    public int multiSearchRoundTrip() throws Exception {
+        Map<?, ?> result = httpClient.sendJson("POST", "/multi_search", Map.of(), multiSearchBody, Map.class);
+        return ((List<?>) result.get("results")).size();
+    }
+}
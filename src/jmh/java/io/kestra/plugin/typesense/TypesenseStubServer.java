@@ -0,0 +1,117 @@
+package io.kestra.plugin.typesense;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * In-process HTTP server mimicking the Typesense endpoints used by the benchmarks, so they run without Docker.
+ * <p>
+ * The import endpoint reads the whole JSONL body and answers one success line per document; the search endpoints
+ * answer a canned result with {@code hits} documents.
+ */
+final class TypesenseStubServer implements AutoCloseable {
+    private static final byte[] IMPORT_SUCCESS = "{\"success\":true}\n".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final byte[] searchResult;
+    private final byte[] multiSearchResult;
+
+    TypesenseStubServer(int hits) throws IOException {
+        this.searchResult = JacksonMapper.ofJson().writeValueAsBytes(searchResult(hits));
+        this.multiSearchResult = JacksonMapper.ofJson().writeValueAsBytes(Map.of("results", List.of(searchResult(hits))));
+
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    TypesenseNode node() {
+        return new TypesenseNode("http", "localhost", String.valueOf(server.getAddress().getPort()));
+    }
+
+    TypesenseSettings settings() {
+        return TypesenseSettings.of(node(), "bench-key");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        try (exchange) {
+            if (path.endsWith("/documents/import")) {
+                long documents = countLines(exchange.getRequestBody());
+                exchange.sendResponseHeaders(200, documents * IMPORT_SUCCESS.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    for (long i = 0; i < documents; i++) {
+                        output.write(IMPORT_SUCCESS);
+                    }
+                }
+            } else if (path.endsWith("/documents/search")) {
+                respond(exchange, searchResult);
+            } else if (path.equals("/multi_search")) {
+                exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                respond(exchange, multiSearchResult);
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static long countLines(InputStream body) throws IOException {
+        byte[] buffer = new byte[8192];
+        long lines = 0;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static Map<String, Object> searchResult(int hits) {
+        List<Map<String, Object>> hitList = new ArrayList<>(hits);
+        for (Map<String, Object> document : BenchmarkDocuments.documents(hits)) {
+            Map<String, Object> hit = new LinkedHashMap<>();
+            hit.put("document", document);
+            hit.put("highlights", List.of());
+            hit.put("text_match", 578730123365187705L);
+            hitList.add(hit);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("found", hits);
+        result.put("out_of", hits);
+        result.put("page", 1);
+        result.put("search_time_ms", 1);
+        result.put("hits", hitList);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
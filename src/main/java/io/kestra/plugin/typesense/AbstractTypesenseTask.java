@@ -4,8 +4,6 @@ import java.time.Duration;
 import java.util.List;
 
 import org.typesense.api.Client;
-import org.typesense.api.Configuration;
-import org.typesense.resources.Node;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.property.Property;
@@ -15,6 +13,7 @@ import io.kestra.core.runners.RunContext;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
@@ -24,30 +23,15 @@ import io.kestra.core.models.annotations.PluginProperty;
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
-public abstract class AbstractTypesenseTask extends Task {
-
-    @Schema(
-        title = "Typesense host",
-        description = "Hostname or IP address of the Typesense cluster node or load balancer"
-    )
-    @NotNull
-    @PluginProperty(group = "main")
+public abstract class AbstractTypesenseTask extends Task implements TypesenseConnectionInterface {
     protected Property<String> host;
 
-    @Schema(
-        title = "Typesense port",
-        description = "TCP port for the Typesense HTTP API; 8108 is the Typesense default"
-    )
-    @NotNull
-    @PluginProperty(group = "main")
     protected Property<String> port;
 
-    @Schema(
-        title = "Typesense API key",
-        description = "Admin or search key used for this request; must allow access to the target collection"
-    )
-    @NotNull
-    @PluginProperty(group = "main", secret = true)
+    protected Property<List<String>> nodes;
+
+    protected Property<String> nearestNode;
+
     protected Property<String> apiKey;
 
     @Schema(
@@ -58,25 +42,67 @@ public abstract class AbstractTypesenseTask extends Task {
     @PluginProperty(group = "main")
     protected Property<String> collection;
 
+    protected Property<Boolean> https;
+
+    @Builder.Default
+    protected Property<Duration> connectionTimeout = Property.ofValue(TypesenseSettings.DEFAULT_CONNECTION_TIMEOUT);
+
+    protected Property<Duration> readTimeout;
+
+    @Builder.Default
+    protected Property<Duration> healthcheckInterval = Property.ofValue(TypesenseSettings.DEFAULT_HEALTHCHECK_INTERVAL);
+
+    @Builder.Default
+    protected Property<Integer> numRetries = Property.ofValue(TypesenseSettings.DEFAULT_NUM_RETRIES);
+
+    @Builder.Default
+    protected Property<Duration> retryInterval = Property.ofValue(TypesenseSettings.DEFAULT_RETRY_INTERVAL);
+
     @Schema(
-        title = "Use HTTPS",
-        description = "Default false (HTTP). Set to true to call Typesense over HTTPS/TLS"
+        title = "Overload retries",
+        description = "Number of times a request rejected with 429 (rate limited) or 503 (node not ready or lagging) is retried after a backoff. " +
+            "While backing off, every request of the task run is paused so the node can catch up. Default 5; set to 0 to fail straight away"
     )
+    @Builder.Default
     @PluginProperty(group = "advanced")
-    protected Property<Boolean> https;
+    protected Property<Integer> overloadRetries = Property.ofValue(5);
+
+    @Schema(
+        title = "Overload initial backoff",
+        description = "Pause after the first 429 or 503 answer, doubled on each consecutive one and randomized by up to half to spread the retries. Default 500 milliseconds"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Duration> overloadBackoff = Property.ofValue(Duration.ofMillis(500));
 
+    @Schema(
+        title = "Overload maximum backoff",
+        description = "Upper bound of the pause after consecutive 429 or 503 answers. Default 30 seconds"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Duration> overloadMaxBackoff = Property.ofValue(Duration.ofSeconds(30));
+
+    /**
+     * Returns the typesense-java client for this task's cluster, shared with other task runs on the same worker.
+     */
     protected Client getClient(RunContext context) throws IllegalVariableEvaluationException {
-        Configuration configuration = new Configuration(
-            List.of(
-                new Node(
-                    context.render(https).as(Boolean.class).orElse(false) ? "https" : "http",
-                    context.render(host).as(String.class).orElseThrow(),
-                    context.render(port).as(String.class).orElseThrow()
-                )
-            ),
-            Duration.ofSeconds(2), context.render(apiKey).as(String.class).orElseThrow()
+        return TypesenseConnections.get(renderSettings(context)).client();
+    }
+
+    TypesenseHttpClient getHttpClient(RunContext context) throws IllegalVariableEvaluationException {
+        return TypesenseConnections.get(renderSettings(context)).httpClient();
+    }
+
+    /**
+     * Returns a new backoff and circuit breaker for 429 and 503 answers, shared by the requests of one task run.
+     */
+    Backpressure renderBackpressure(RunContext context) throws IllegalVariableEvaluationException {
+        return new Backpressure(
+            context.render(overloadRetries).as(Integer.class).orElse(5),
+            context.render(overloadBackoff).as(Duration.class).orElse(Duration.ofMillis(500)),
+            context.render(overloadMaxBackoff).as(Duration.class).orElse(Duration.ofSeconds(30))
         );
-        return new Client(configuration);
     }
 
     protected String renderCollection(RunContext context)
@@ -0,0 +1,127 @@
+package io.kestra.plugin.typesense;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.typesense.api.exceptions.TypesenseError;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Retries requests rejected because the node is overloaded (HTTP 429 or 503 "Not Ready or Lagging") and pauses every
+ * request of the task run while the node catches up.
+ * <p>
+ * It acts as a circuit breaker shared by the concurrent requests of a run: an overload answer opens the circuit for a
+ * jittered exponential backoff, and every request waits for it to close before being sent, instead of piling more load
+ * on the node. The backoff grows with consecutive overloads and resets after the first success.
+ */
+final class Backpressure {
+    private final int maxRetries;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final AtomicLong openUntil = new AtomicLong();
+    private final AtomicInteger consecutiveOverloads = new AtomicInteger();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder pausedNanos = new LongAdder();
+
+    Backpressure(int maxRetries, Duration initialBackoff, Duration maxBackoff) {
+        this.maxRetries = maxRetries;
+        this.initialBackoffNanos = Math.max(1, initialBackoff.toNanos());
+        this.maxBackoffNanos = Math.max(this.initialBackoffNanos, maxBackoff.toNanos());
+    }
+
+    /**
+     * Runs the call, retrying it while it fails with an overload error and the retries are not exhausted.
+     */
+    <T> T call(Callable<T> call) throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            awaitClosed();
+            try {
+                T result = call.call();
+                onSuccess();
+                return result;
+            } catch (Exception e) {
+                if (!isOverload(e) || !onOverload(attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Blocks while the circuit is open.
+     */
+    void awaitClosed() throws InterruptedException {
+        long start = System.nanoTime();
+        long remaining;
+        while ((remaining = openUntil.get() - System.nanoTime()) > 0) {
+            Thread.sleep(Math.max(1, remaining / 1_000_000));
+        }
+        long paused = System.nanoTime() - start;
+        if (paused > 1_000_000) {
+            pausedNanos.add(paused);
+        }
+    }
+
+    /**
+     * Opens the circuit after an overload answer to the given attempt.
+     *
+     * @return false when the retries are exhausted and the request must fail
+     */
+    boolean onOverload(int attempt) {
+        if (attempt >= maxRetries) {
+            return false;
+        }
+        open();
+        return true;
+    }
+
+    /**
+     * Opens the circuit for a backoff, whatever the number of retries, for callers that keep their own retry count.
+     */
+    void open() {
+        retries.increment();
+        long until = System.nanoTime() + backoffNanos(consecutiveOverloads.getAndIncrement());
+        openUntil.accumulateAndGet(until, Math::max);
+    }
+
+    /**
+     * Jittered exponential backoff before the given retry of a single request, leaving the circuit and the other requests
+     * of the run alone.
+     */
+    long backoffNanos(int attempt) {
+        long backoff = (long) Math.min(maxBackoffNanos, initialBackoffNanos * Math.pow(2, Math.min(attempt, 30)));
+        // equal jitter: at least half the backoff, so concurrent requests do not all come back at once
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    void onSuccess() {
+        consecutiveOverloads.set(0);
+    }
+
+    void report(RunContext runContext) {
+        runContext.metric(Counter.of("backpressure.retries", retries.sum()));
+        runContext.metric(Timer.of("backpressure.paused", Duration.ofNanos(pausedNanos.sum())));
+    }
+
+    static boolean isOverload(int status) {
+        return status == 429 || status == 503;
+    }
+
+    static boolean isOverload(Throwable e) {
+        if (e instanceof TypesenseHttpException error) {
+            return isOverload(error.getStatus());
+        }
+        if (e instanceof TypesenseError error) {
+            return isOverload(error.status);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,245 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Delete many documents from Typesense",
+    description = "Deletes either the documents matching a `filter_by` expression, or the documents whose ids are listed in " +
+        "`documentIds` or in an Amazon ION file. Ids are grouped into `id:[...]` filter deletes run concurrently; filter deletes " +
+        "are processed by Typesense in batches of `batchSize` documents so large purges do not block the node."
+)
+@Plugin(
+    examples = {
+        @io.kestra.core.models.annotations.Example(
+            title = "Purge the documents that expired yesterday",
+            full = true,
+            code = {
+                """
+                    id: typesense_bulk_delete
+                    namespace: company.team
+
+                    tasks:
+                      - id: bulk_delete
+                        type: io.kestra.plugin.typesense.BulkDelete
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Countries
+                        filter: "expiresAt:<{{ trigger.date | date('X') }}"
+                        batchSize: 1000
+                    """
+            }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Delete the documents whose ids are listed in an ION file",
+            full = true,
+            code = {
+                """
+                    id: typesense_bulk_delete_ids
+                    namespace: company.team
+
+                    tasks:
+                      - id: bulk_delete
+                        type: io.kestra.plugin.typesense.BulkDelete
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Countries
+                        from: kestra://data/stale_ids.ion
+                        concurrency: 8
+                    """
+            }
+        )
+    },
+    metrics = {
+        @Metric(name = "requests.count", description = "Number of delete requests", type = Counter.TYPE),
+        @Metric(name = "records.deleted", description = "Number of deleted documents", type = Counter.TYPE),
+        @Metric(name = "backpressure.retries", description = "Number of backoffs after a 429 or 503 answer", type = Counter.TYPE),
+        @Metric(name = "backpressure.paused", description = "Time requests were paused waiting for an overloaded node", type = Timer.TYPE),
+    }
+)
+public class BulkDelete extends AbstractTypesenseTask implements RunnableTask<BulkDelete.Output> {
+
+    @Schema(
+        title = "Filter expression",
+        description = "`filter_by` clause selecting the documents to delete. Cannot be combined with `documentIds` or `from`."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> filter;
+
+    @Schema(
+        title = "Document ids",
+        description = "Ids of the documents to delete. Can be combined with `from`."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> documentIds;
+
+    @Schema(
+        title = "Input ION file URI",
+        description = "kestra:// or other storage URI pointing to an Amazon ION file with one id per row, either as a string or as a record with an `id` field."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> from;
+
+    @Schema(
+        title = "Server-side batch size",
+        description = "Number of documents Typesense deletes at a time while processing one request, sent as `batch_size`. Default 1000."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> batchSize = Property.ofValue(1000);
+
+    @Schema(
+        title = "Ids per request",
+        description = "Maximum number of ids deleted by one request. Default 1000."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> idsPerRequest = Property.ofValue(1000);
+
+    @Schema(
+        title = "Maximum filter length",
+        description = "Maximum length, in characters, of the `filter_by` clause of one id delete, which is sent in the URL. Default 3000."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxFilterLength = Property.ofValue(3000);
+
+    @Schema(
+        title = "Concurrent requests",
+        description = "Number of id delete requests kept in flight at once. Default 4."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        TypesenseHttpClient httpClient = getHttpClient(runContext);
+        Backpressure backpressure = renderBackpressure(runContext);
+        String renderedCollection = renderCollection(runContext);
+        int renderedBatchSize = runContext.render(batchSize).as(Integer.class).orElse(1000);
+        String renderedFilter = runContext.render(filter).as(String.class).orElse(null);
+        List<String> renderedDocumentIds = runContext.render(documentIds).asList(String.class);
+        String renderedFrom = runContext.render(from).as(String.class).orElse(null);
+
+        boolean byIds = !renderedDocumentIds.isEmpty() || renderedFrom != null;
+        if (byIds == (renderedFilter != null)) {
+            throw new IllegalArgumentException("Exactly one of `filter` or `documentIds`/`from` must be set");
+        }
+
+        long requestCount;
+        long deleted;
+        if (renderedFilter != null) {
+            requestCount = 1;
+            deleted = backpressure.call(() -> delete(httpClient, renderedCollection, renderedFilter, renderedBatchSize));
+        } else {
+            try (
+                InputStream inputStream = renderedFrom == null
+                    ? InputStream.nullInputStream()
+                    : new BufferedInputStream(runContext.storage().getFile(new URI(renderedFrom)), FileSerde.BUFFER_SIZE);
+                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+            ) {
+                Scheduler scheduler = Schedulers.fromExecutorService(executor);
+                Flux<String> ids = Flux.fromIterable(renderedDocumentIds);
+                if (renderedFrom != null) {
+                    ids = ids.concatWith(FileSerde.readAll(inputStream).map(BulkGet::toId));
+                }
+
+                AtomicLong deletedCount = new AtomicLong();
+                requestCount = BulkGet.chunks(
+                        ids,
+                        runContext.render(idsPerRequest).as(Integer.class).orElse(1000),
+                        runContext.render(maxFilterLength).as(Integer.class).orElse(3000)
+                    )
+                    .flatMap(
+                        chunk -> Mono.fromCallable(() -> backpressure.call(
+                                () -> delete(httpClient, renderedCollection, BulkGet.idFilter(chunk), renderedBatchSize)
+                            ))
+                            .subscribeOn(scheduler),
+                        runContext.render(concurrency).as(Integer.class).orElse(4)
+                    )
+                    .doOnNext(deletedCount::addAndGet)
+                    .count().blockOptional().orElse(0L);
+                deleted = deletedCount.get();
+            }
+        }
+
+        runContext.metric(Counter.of("requests.count", requestCount));
+        runContext.metric(Counter.of("records.deleted", deleted));
+        backpressure.report(runContext);
+        runContext.logger().info("Deleted {} documents from the collection {} in {} requests", deleted, renderedCollection, requestCount);
+
+        return Output.builder()
+            .deleted(deleted)
+            .build();
+    }
+
+    /**
+     * Deletes the documents matching a filter.
+     *
+     * @return the number of deleted documents
+     */
+    @SuppressWarnings("unchecked")
+    static long delete(TypesenseHttpClient httpClient, String collection, String filter, int batchSize) throws Exception {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("filter_by", filter);
+        query.put("batch_size", String.valueOf(batchSize));
+
+        try (InputStream response = httpClient.send(
+            "DELETE",
+            TypesenseHttpClient.collectionPath(collection, "/documents"),
+            query,
+            HttpRequest.BodyPublishers.noBody()
+        )) {
+            Map<String, Object> result = JacksonMapper.ofJson().readValue(response, Map.class);
+            return result.get("num_deleted") instanceof Number number ? number.longValue() : 0L;
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+
+        @Schema(title = "Deleted document count", description = "Number of documents deleted by Typesense.")
+        private final Long deleted;
+    }
+
+}
@@ -0,0 +1,305 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.typesense.api.Client;
+import org.typesense.model.SearchParameters;
+import org.typesense.model.SearchResult;
+import org.typesense.model.SearchResultHit;
+
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Fetch many documents from Typesense by id",
+    description = "Looks up documents by id, grouping the ids into `filter_by: id:[...]` searches run concurrently. " +
+        "Found documents are written to one Amazon ION file and the ids that do not exist to another."
+)
+@Plugin(
+    examples = {
+        @io.kestra.core.models.annotations.Example(
+            title = "Get a list of documents",
+            full = true,
+            code = {
+                """
+                    id: typesense_bulk_get
+                    namespace: company.team
+
+                    tasks:
+                      - id: bulk_get
+                        type: io.kestra.plugin.typesense.BulkGet
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Countries
+                        documentIds:
+                          - "0"
+                          - "1"
+                    """
+            }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Get the documents whose ids are listed in an ION file",
+            full = true,
+            code = {
+                """
+                    id: typesense_bulk_get_from_file
+                    namespace: company.team
+
+                    tasks:
+                      - id: bulk_get
+                        type: io.kestra.plugin.typesense.BulkGet
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Countries
+                        from: kestra://data/ids.ion
+                        concurrency: 8
+                    """
+            }
+        )
+    },
+    metrics = {
+        @Metric(name = "requests.count", description = "Number of search requests", type = Counter.TYPE),
+        @Metric(name = "records.found", description = "Number of documents found", type = Counter.TYPE),
+        @Metric(name = "records.missing", description = "Number of ids without a document", type = Counter.TYPE),
+        @Metric(name = "search.duration", description = "Total time spent in search requests", type = Timer.TYPE),
+        @Metric(name = "search.duration.p50", description = "Median search request latency", type = Timer.TYPE),
+        @Metric(name = "search.duration.p99", description = "99th percentile search request latency", type = Timer.TYPE),
+        @Metric(name = "search.duration.max", description = "Slowest search request", type = Timer.TYPE),
+    }
+)
+public class BulkGet extends AbstractTypesenseTask implements RunnableTask<BulkGet.Output> {
+
+    @Schema(
+        title = "Document ids",
+        description = "Ids to fetch. Can be combined with `from`."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> documentIds;
+
+    @Schema(
+        title = "Input ION file URI",
+        description = "kestra:// or other storage URI pointing to an Amazon ION file with one id per row, either as a string or as a record with an `id` field."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> from;
+
+    @Schema(
+        title = "Ids per request",
+        description = "Maximum number of ids in one search. Default 250, the Typesense maximum `per_page`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> idsPerRequest = Property.ofValue(Search.MAX_PER_PAGE);
+
+    @Schema(
+        title = "Maximum filter length",
+        description = "Maximum length, in characters, of the URL-encoded `filter_by` clause of one search, which is sent in the URL. " +
+            "Default 3000."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxFilterLength = Property.ofValue(3000);
+
+    @Schema(
+        title = "Concurrent requests",
+        description = "Number of searches kept in flight at once. Default 4."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Client client = getClient(runContext);
+        String renderedCollection = renderCollection(runContext);
+        int renderedIdsPerRequest = Math.min(runContext.render(idsPerRequest).as(Integer.class).orElse(Search.MAX_PER_PAGE), Search.MAX_PER_PAGE);
+        int renderedMaxFilterLength = runContext.render(maxFilterLength).as(Integer.class).orElse(3000);
+        List<String> renderedDocumentIds = runContext.render(documentIds).asList(String.class);
+        String renderedFrom = runContext.render(from).as(String.class).orElse(null);
+        if (renderedDocumentIds.isEmpty() && renderedFrom == null) {
+            throw new IllegalArgumentException("Either `documentIds` or `from` must be set");
+        }
+
+        File documentsFile = runContext.workingDir().createTempFile(".ion").toFile();
+        File missingFile = runContext.workingDir().createTempFile(".ion").toFile();
+        try (
+            InputStream inputStream = renderedFrom == null
+                ? InputStream.nullInputStream()
+                : new BufferedInputStream(runContext.storage().getFile(new URI(renderedFrom)), FileSerde.BUFFER_SIZE);
+            var documentsOutput = new BufferedOutputStream(new FileOutputStream(documentsFile), FileSerde.BUFFER_SIZE);
+            var missingOutput = new BufferedOutputStream(new FileOutputStream(missingFile), FileSerde.BUFFER_SIZE);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            Scheduler scheduler = Schedulers.fromExecutorService(executor);
+            Flux<String> ids = Flux.fromIterable(renderedDocumentIds);
+            if (renderedFrom != null) {
+                ids = ids.concatWith(FileSerde.readAll(inputStream).map(BulkGet::toId));
+            }
+
+            AtomicLong found = new AtomicLong();
+            AtomicLong missing = new AtomicLong();
+            LatencyRecorder latency = new LatencyRecorder("search");
+            Long requestCount = chunks(ids, renderedIdsPerRequest, renderedMaxFilterLength)
+                .flatMapSequential(
+                    chunk -> Mono.fromCallable(() -> latency.time(() -> fetch(client, renderedCollection, chunk))).subscribeOn(scheduler),
+                    runContext.render(concurrency).as(Integer.class).orElse(4)
+                )
+                .doOnNext(throwConsumer(result -> {
+                    for (Map<String, Object> document : result.documents()) {
+                        FileSerde.write(documentsOutput, document);
+                    }
+                    for (String id : result.missing()) {
+                        FileSerde.write(missingOutput, id);
+                    }
+                    found.addAndGet(result.documents().size());
+                    missing.addAndGet(result.missing().size());
+                }))
+                .count().blockOptional().orElse(0L);
+            documentsOutput.flush();
+            missingOutput.flush();
+
+            runContext.metric(Counter.of("requests.count", requestCount));
+            runContext.metric(Counter.of("records.found", found.get()));
+            runContext.metric(Counter.of("records.missing", missing.get()));
+            latency.report(runContext);
+            runContext.logger().info("Found {} documents and {} missing ids in {} requests", found.get(), missing.get(), requestCount);
+
+            return Output.builder()
+                .uri(runContext.storage().putFile(documentsFile))
+                .missingUri(runContext.storage().putFile(missingFile))
+                .found(found.get())
+                .missing(missing.get())
+                .build();
+        }
+    }
+
+    /**
+     * Groups ids so that each search stays under both the id count and the filter length limits, measuring each id as it
+     * is sent in the URL: backtick-quoted, comma-separated and URL-encoded.
+     */
+    static Flux<List<String>> chunks(Flux<String> ids, int maxIds, int maxFilterLength) {
+        return Flux.defer(() -> {
+            int[] current = new int[2];
+            return ids.bufferUntil(id -> {
+                int length = URLEncoder.encode("`" + id + "`,", StandardCharsets.UTF_8).length();
+                boolean cut = current[0] > 0 && (current[0] >= maxIds || current[1] + length > maxFilterLength);
+                if (cut) {
+                    current[0] = 0;
+                    current[1] = 0;
+                }
+                current[0]++;
+                current[1] += length;
+                return cut;
+            }, true);
+        });
+    }
+
+    private static FetchResult fetch(Client client, String collection, List<String> ids) throws Exception {
+        Set<String> missing = new LinkedHashSet<>(ids);
+        SearchParameters searchParameters = Search.searchParameters("*", null, idFilter(missing), null)
+            .perPage(missing.size());
+        SearchResult result = client.collections(collection).documents().search(searchParameters);
+
+        List<Map<String, Object>> documents = new ArrayList<>(missing.size());
+        for (SearchResultHit hit : result.getHits()) {
+            documents.add(hit.getDocument());
+            missing.remove(String.valueOf(hit.getDocument().get("id")));
+        }
+        return new FetchResult(documents, new ArrayList<>(missing));
+    }
+
+    /**
+     * Builds {@code id:[`a`,`b`]}, backtick-quoting the ids so commas and brackets in them are not parsed. Typesense has no
+     * escape for a backtick inside a quoted value, so ids containing one are rejected.
+     */
+    static String idFilter(Iterable<String> ids) {
+        StringBuilder filter = new StringBuilder("id:[");
+        boolean first = true;
+        for (String id : ids) {
+            if (id.indexOf('`') >= 0) {
+                throw new IllegalArgumentException("The id " + id + " contains a backtick and cannot be used in a Typesense filter");
+            }
+            if (!first) {
+                filter.append(',');
+            }
+            filter.append('`').append(id).append('`');
+            first = false;
+        }
+        return filter.append(']').toString();
+    }
+
+    static String toId(Object row) {
+        if (row instanceof Map<?, ?> map) {
+            Object id = map.get("id");
+            if (id == null) {
+                throw new IllegalArgumentException("Row without an `id` field: " + row);
+            }
+            return id.toString();
+        }
+        return row.toString();
+    }
+
+    private record FetchResult(List<Map<String, Object>> documents, List<String> missing) {
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+
+        @Schema(title = "Documents URI", description = "Storage URI of the Amazon ION file with the found documents.")
+        private final URI uri;
+
+        @Schema(title = "Missing ids URI", description = "Storage URI of the Amazon ION file with the ids that have no document.")
+        private final URI missingUri;
+
+        @Schema(title = "Found document count", description = "Number of documents written to the documents file.")
+        private final Long found;
+
+        @Schema(title = "Missing id count", description = "Number of requested ids that have no document in the collection.")
+        private final Long missing;
+    }
+
+}
@@ -1,23 +1,47 @@
 package io.kestra.plugin.typesense;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
-import org.typesense.api.Client;
-import org.typesense.model.ImportDocumentsParameters;
-import org.typesense.model.IndexAction;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -28,6 +52,11 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
 
 @SuperBuilder
 @ToString
@@ -36,7 +65,9 @@ import reactor.core.publisher.Flux;
 @NoArgsConstructor
 @Schema(
     title = "Bulk upsert documents into Typesense",
-    description = "Streams records from an Amazon ION file in internal storage and upserts them into the target collection."
+    description = "Streams records from an Amazon ION file in internal storage and upserts them into the target collection. " +
+        "Records are transcoded from ION to JSON lines on the fly and streamed as the import request body; JSON lines input set " +
+        "with `format: JSONL` is forwarded unchanged."
 )
 @Plugin(
     examples = {
@@ -58,23 +89,134 @@ import reactor.core.publisher.Flux;
                         from: kestra://data/countries.ion
                     """
             }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Reload a large ION file with several imports in flight",
+            full = true,
+            code = {
+                """
+                    id: typesense_bulk_index_concurrent
+                    namespace: company.team
+
+                    tasks:
+                      - id: bulk_index
+                        type: io.kestra.plugin.typesense.BulkIndex
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Products
+                        from: kestra://data/products.ion
+                        chunk: 5000
+                        concurrency: 4
+                    """
+            }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Nightly delta sync sending only the changed documents and deleting the vanished ones",
+            full = true,
+            code = {
+                """
+                    id: typesense_bulk_index_delta
+                    namespace: company.team
+
+                    tasks:
+                      - id: bulk_index
+                        type: io.kestra.plugin.typesense.BulkIndex
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Products
+                        from: kestra://data/products.ion
+                        deltaSync: true
+                        deleteMissing: true
+                    """
+            }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Daytime import capped so live searches keep their latency",
+            full = true,
+            code = {
+                """
+                    id: typesense_bulk_index_rate_limited
+                    namespace: company.team
+
+                    tasks:
+                      - id: bulk_index
+                        type: io.kestra.plugin.typesense.BulkIndex
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Products
+                        from: kestra://data/products.ion
+                        concurrency: 2
+                        maxDocumentsPerSecond: 2000
+                        maxBytesPerSecond: 4000000
+                        sharedRateLimit: true
+                    """
+            }
         )
     },
     metrics = {
         @Metric(name = "requests.count", description = "Number of request", type = Counter.TYPE),
         @Metric(name = "records", description = "Number of records", type = Counter.TYPE),
+        @Metric(name = "records.succeeded", description = "Number of records accepted by Typesense", type = Counter.TYPE),
+        @Metric(name = "records.failed", description = "Number of records rejected by Typesense", type = Counter.TYPE),
+        @Metric(name = "records.skipped", description = "Number of unchanged records skipped by the delta sync", type = Counter.TYPE),
+        @Metric(name = "records.deleted", description = "Number of vanished documents deleted by the delta sync", type = Counter.TYPE),
+        @Metric(name = "import.duration", description = "Total time spent in import requests", type = Timer.TYPE),
+        @Metric(name = "import.duration.p50", description = "Median import request latency", type = Timer.TYPE),
+        @Metric(name = "import.duration.p99", description = "99th percentile import request latency", type = Timer.TYPE),
+        @Metric(name = "import.duration.max", description = "Slowest import request", type = Timer.TYPE),
+        @Metric(name = "bytes.sent", description = "Bytes of JSONL sent to Typesense", type = Counter.TYPE),
+        @Metric(name = "bytes.received", description = "Bytes of import results received from Typesense", type = Counter.TYPE),
+        @Metric(name = "requests.retries", description = "Number of import requests retried after a transient error", type = Counter.TYPE),
+        @Metric(name = "requests.failed", description = "Number of import requests answered with an error", type = Counter.TYPE),
+        @Metric(name = "throughput.records", description = "Records read per second over the whole run", type = Counter.TYPE),
+        @Metric(name = "throughput.bytes", description = "Bytes sent per second over the whole run", type = Counter.TYPE),
+        @Metric(name = "backpressure.retries", description = "Number of backoffs after a 429 or 503 answer", type = Counter.TYPE),
+        @Metric(name = "backpressure.paused", description = "Time requests were paused waiting for an overloaded node", type = Timer.TYPE),
+        @Metric(name = "ratelimit.wait", description = "Time imports waited for the write rate limit", type = Timer.TYPE),
     }
 )
 public class BulkIndex extends AbstractTypesenseTask implements RunnableTask<BulkIndex.Output> {
 
+    private static final byte[] NEW_LINE = {'\n'};
+
     @Schema(
-        title = "Input ION file URI",
-        description = "kestra:// or other storage URI pointing to an Amazon ION file with one JSON document per line."
+        title = "Input file URI",
+        description = "kestra:// or other storage URI pointing to an Amazon ION file, or a JSON lines file when `format` is `JSONL`, with one document per line."
     )
     @NotNull
     @PluginProperty(group = "main")
     private Property<String> from;
 
+    @Schema(
+        title = "Input format",
+        description = "`ION` (default) transcodes every record to JSON. `JSONL` splits a Typesense-ready JSON lines file on newlines " +
+            "and forwards each line unchanged, without decoding it; blank lines are skipped."
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    private Property<Format> format = Property.ofValue(Format.ION);
+
+    @Schema(
+        title = "Vector fields",
+        description = "Top-level fields holding embeddings, read into primitive float arrays and sent as 32-bit floats instead of " +
+            "being copied number by number with their 64-bit digits. See `discoverVectorFields` to take them from the collection " +
+            "schema instead. Only applies to the `ION` format."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<List<String>> vectorFields;
+
+    @Schema(
+        title = "Discover vector fields",
+        description = "Default false. When true and `vectorFields` is not set, the collection schema is read once before the import " +
+            "and its `float[]` fields declared with `num_dim` are used as vector fields."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> discoverVectorFields = Property.ofValue(false);
+
     @Schema(
         title = "Bulk chunk size",
         description = "Number of documents per Typesense bulk call. Default 1000; lower to reduce memory, raise to improve throughput."
@@ -83,61 +225,623 @@ public class BulkIndex extends AbstractTypesenseTask implements RunnableTask<Bul
     @PluginProperty(group = "advanced")
     private Property<Integer> chunk = Property.ofValue(1000);
 
+    @Schema(
+        title = "Concurrent bulk requests",
+        description = "Maximum number of bulk import requests kept in flight at once. Default 1. " +
+            "The input file is only read as fast as requests complete, so memory stays bounded to about `concurrency` x `chunk` documents."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> concurrency = Property.ofValue(1);
+
+    @Schema(
+        title = "Keep chunk order",
+        description = "Default false. When true, chunk results are processed in input order even when imports run concurrently. " +
+            "Imports themselves still overlap, so use `concurrency: 1` if the same document id may appear in several chunks."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> keepOrder = Property.ofValue(false);
+
+    @Schema(
+        title = "Per-document retries",
+        description = "Number of times a document rejected because the node is overloaded (result code 429 or 503) is retried, " +
+            "together with the other overloaded documents of its chunk, in a new request sent after a jittered exponential backoff starting " +
+            "at `overloadBackoff`; the other imports of the run are not paused. " +
+            "Default 3; " +
+            "documents that still fail, or fail with any other error, are written to the `failedUri` file."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> documentRetries = Property.ofValue(3);
+
+    @Schema(
+        title = "Maximum chunk size in bytes",
+        description = "Optional byte budget for the JSONL body of one bulk call. A chunk is closed as soon as the next document " +
+            "would exceed either this budget or the `chunk` document count, so large documents such as embeddings do not time out."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Long> maxChunkBytes;
+
+    @Schema(
+        title = "Adaptive chunk sizing",
+        description = "Default false. When true, `chunk` is only the starting document count: it grows while imports finish within " +
+            "`targetLatency` and is halved after a slower import or a 413, 429 or 503 answer, up to ten times its initial value."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> adaptiveChunk = Property.ofValue(false);
+
+    @Schema(
+        title = "Target import latency",
+        description = "Import duration the adaptive chunk sizing aims for. Default 2 seconds; only used when `adaptiveChunk` is true."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> targetLatency = Property.ofValue(Duration.ofSeconds(2));
+
+    @Schema(
+        title = "Maximum documents per second",
+        description = "Optional cap on the documents sent per second, enforced with a token bucket holding one second of documents, " +
+            "so a background import leaves room for live searches on the same nodes."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Long> maxDocumentsPerSecond;
+
+    @Schema(
+        title = "Maximum bytes per second",
+        description = "Optional cap on the JSONL bytes sent per second, enforced with a token bucket holding one second of bytes."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Long> maxBytesPerSecond;
+
+    @Schema(
+        title = "Share the rate limit",
+        description = "Default false, each run gets its own rate limit. When true, the `maxDocumentsPerSecond` and `maxBytesPerSecond` " +
+            "budgets are shared by all the bulk imports running on the same worker against the same cluster with the same limits."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> sharedRateLimit = Property.ofValue(false);
+
+    @Schema(
+        title = "Delta sync",
+        description = "Default false. When true, a 64-bit content hash of every document is kept by id in the Kestra state store, " +
+            "and documents whose content did not change since the previous run are skipped before being chunked. " +
+            "Documents need an `id` field to be tracked; documents without one are always sent."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> deltaSync = Property.ofValue(false);
+
+    @Schema(
+        title = "Delta state key",
+        description = "Name of the delta sync state, scoped to the flow. Defaults to the collection name; set it when several " +
+            "inputs are synchronized into the same collection."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> deltaKey;
+
+    @Schema(
+        title = "Delete missing documents",
+        description = "Default false; requires `deltaSync`. When true, every document of the collection whose id is not in the " +
+            "input is deleted after the import, so the collection mirrors the input file. Skipped when the input is empty. " +
+            "Also skipped, with a warning, when any input document has no `id`: Typesense generates one that is not part of the " +
+            "input, so the document would be deleted right after being imported."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> deleteMissing = Property.ofValue(false);
+
     @Override
     public BulkIndex.Output run(RunContext runContext) throws Exception {
-        Client client = getClient(runContext);
-        String renderedCollection = renderCollection(runContext);
+        return index(runContext, renderCollection(runContext), null);
+    }
+
+    /**
+     * Imports the input file into the given collection, which may differ from the rendered `collection` property.
+     *
+     * @param schema the collection schema when the caller knows it, used for the vector fields; null otherwise
+     */
+    protected BulkIndex.Output index(RunContext runContext, String renderedCollection, Map<?, ?> schema) throws Exception {
+        TypesenseHttpClient httpClient = getHttpClient(runContext);
         Logger logger = runContext.logger();
 
         URI uri = new URI(renderString(from, runContext));
+        int renderedConcurrency = runContext.render(concurrency).as(Integer.class).orElse(1);
+        boolean renderedKeepOrder = runContext.render(keepOrder).as(Boolean.class).orElse(false);
+        int renderedDocumentRetries = runContext.render(documentRetries).as(Integer.class).orElse(3);
+        ChunkSizer sizer = new ChunkSizer(
+            runContext.render(chunk).as(Integer.class).orElse(1000),
+            runContext.render(maxChunkBytes).as(Long.class).orElse(null),
+            runContext.render(adaptiveChunk).as(Boolean.class).orElse(false),
+            runContext.render(targetLatency).as(Duration.class).orElse(Duration.ofSeconds(2))
+        );
+        boolean renderedDeltaSync = runContext.render(deltaSync).as(Boolean.class).orElse(false);
+        boolean renderedDeleteMissing = runContext.render(deleteMissing).as(Boolean.class).orElse(false);
+        if (renderedDeleteMissing && !renderedDeltaSync) {
+            throw new IllegalArgumentException("`deleteMissing` requires `deltaSync`");
+        }
+        String renderedDeltaKey = runContext.render(deltaKey).as(String.class).orElse(renderedCollection);
+        DeltaState delta = renderedDeltaSync ? loadDeltaState(runContext, renderedDeltaKey) : null;
+        Format renderedFormat = runContext.render(format).as(Format.class).orElse(Format.ION);
+        File deadLetterFile = runContext.workingDir().createTempFile(".ion").toFile();
+        ImportMetrics metrics = new ImportMetrics();
+        Backpressure backpressure = renderBackpressure(runContext);
+        WriteRateLimiter rateLimiter = WriteRateLimiter.of(
+            renderSettings(runContext),
+            runContext.render(maxDocumentsPerSecond).as(Long.class).orElse(null),
+            runContext.render(maxBytesPerSecond).as(Long.class).orElse(null),
+            runContext.render(sharedRateLimit).as(Boolean.class).orElse(false)
+        );
+        long start = System.nanoTime();
 
         try (
             BufferedInputStream inputStream = new BufferedInputStream(
                 runContext.storage().getFile(uri), FileSerde.BUFFER_SIZE
             );
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            DeadLetter deadLetter = new DeadLetter(deadLetterFile)
         ) {
+            Scheduler scheduler = Schedulers.fromExecutorService(executor);
+            ImportContext context = new ImportContext(httpClient, renderedCollection, logger, deadLetter, renderedDocumentRetries, sizer, delta, metrics,
+                backpressure, rateLimiter);
             AtomicLong count = new AtomicLong();
-            Long requestCount = FileSerde.readAll(inputStream)
-                .doOnNext(l -> count.incrementAndGet())
-                .buffer(runContext.render(chunk).as(Integer.class).orElse(1000))
-                .flatMap(documents -> bulkIndex(client, renderedCollection, documents, logger))
+            AtomicLong skipped = new AtomicLong();
+            Flux<byte[]> lines = (renderedFormat == Format.JSONL
+                ? IonJsonLines.readJsonLines(inputStream)
+                : IonJsonLines.read(inputStream, renderVectorFields(runContext, httpClient, renderedCollection, schema)))
+                .doOnNext(l -> count.incrementAndGet());
+            if (delta != null) {
+                lines = lines.filter(line -> {
+                    if (delta.hasChanged(line)) {
+                        return true;
+                    }
+                    skipped.incrementAndGet();
+                    return false;
+                });
+            }
+            Flux<List<byte[]>> chunks = chunks(lines, sizer);
+            Flux<ChunkResult> results = renderedKeepOrder
+                ? chunks.flatMapSequential(documents -> bulkIndex(context, documents, scheduler), renderedConcurrency)
+                : chunks.flatMap(documents -> bulkIndex(context, documents, scheduler), renderedConcurrency);
+
+            AtomicLong succeeded = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            Long requestCount = results
+                .doOnNext(result -> {
+                    succeeded.addAndGet(result.succeeded());
+                    failed.addAndGet(result.failed());
+                })
                 .count().blockOptional().orElse(0L);
+            deadLetter.close();
+
+            long deleted = 0;
+            if (delta != null) {
+                if (renderedDeleteMissing) {
+                    deleted = deleteMissing(context, scheduler, renderedConcurrency);
+                }
+                saveDeltaState(runContext, renderedDeltaKey, delta);
+            }
+
             runContext.metric(Counter.of("requests.count", requestCount));
             runContext.metric(Counter.of("records", count.get()));
+            runContext.metric(Counter.of("records.succeeded", succeeded.get()));
+            runContext.metric(Counter.of("records.failed", failed.get()));
+            if (delta != null) {
+                runContext.metric(Counter.of("records.skipped", skipped.get()));
+                runContext.metric(Counter.of("records.deleted", deleted));
+                logger.info("Delta sync skipped {} unchanged records and deleted {} vanished documents", skipped.get(), deleted);
+            }
+            metrics.report(runContext, count.get(), Duration.ofNanos(System.nanoTime() - start));
+            backpressure.report(runContext);
+            if (rateLimiter != null) {
+                runContext.metric(Timer.of("ratelimit.wait", Duration.ofNanos(metrics.throttled.sum())));
+            }
             logger.info(
-                "Successfully send {} requests for {} records",
+                "Successfully send {} requests for {} records, {} succeeded and {} failed",
                 requestCount,
-                count.get()
+                count.get(),
+                succeeded.get(),
+                failed.get()
             );
+            if (failed.get() > 0) {
+                logger.warn("{} documents could not be indexed in the collection {}, see the failed documents file",
+                    failed.get(), renderedCollection);
+            }
+
             return Output.builder()
                 .size(count.get())
+                .succeeded(succeeded.get())
+                .failed(failed.get())
+                .failedUri(failed.get() > 0 ? runContext.storage().putFile(deadLetterFile) : null)
+                .skipped(delta != null ? skipped.get() : null)
+                .deleted(delta != null ? deleted : null)
                 .build();
         }
     }
 
-    private static Flux<String> bulkIndex(Client client, String collection, List documents,
-        Logger logger) {
-        return Flux.defer(() ->
-        {
-            try {
-                ImportDocumentsParameters queryParameters = new ImportDocumentsParameters();
-                queryParameters.action(IndexAction.UPSERT);
-                return Flux.just(
-                    client.collections(collection)
-                        .documents()
-                        .import_(documents, queryParameters)
-                );
-            } catch (Exception e) {
-                logger.error(
-                    "Unexpected error while trying to bulk index documents in the collection {}",
-                    collection, e
-                );
-                return Flux.error(e);
+    private static DeltaState loadDeltaState(RunContext runContext, String key) throws Exception {
+        try (InputStream state = runContext.stateStore().getState(DeltaState.STATE_NAME, key, null)) {
+            return DeltaState.read(new BufferedInputStream(state, FileSerde.BUFFER_SIZE));
+        } catch (FileNotFoundException e) {
+            return DeltaState.empty();
+        }
+    }
+
+    /**
+     * Streams the sealed state to a temporary file first, so it is only held once in memory when handed to the state store,
+     * which takes a byte array.
+     */
+    private static void saveDeltaState(RunContext runContext, String key, DeltaState delta) throws Exception {
+        File stateFile = runContext.workingDir().createTempFile(".delta").toFile();
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(stateFile), FileSerde.BUFFER_SIZE)) {
+            delta.write(output);
+        }
+        runContext.stateStore().putState(DeltaState.STATE_NAME, key, null, Files.readAllBytes(stateFile.toPath()));
+        Files.delete(stateFile.toPath());
+    }
+
+    /**
+     * Exports the ids of the collection and deletes the ones that were not part of the input.
+     */
+    private static long deleteMissing(ImportContext context, Scheduler scheduler, int concurrency) throws Exception {
+        if (context.delta().size() == 0) {
+            context.logger().warn("The input is empty, vanished documents are not deleted from the collection {}", context.collection());
+            return 0;
+        }
+        if (context.delta().untracked() > 0) {
+            context.logger().warn(
+                "{} input documents have no id, vanished documents are not deleted from the collection {} as the ids Typesense " +
+                    "generated for them are unknown", context.delta().untracked(), context.collection()
+            );
+            return 0;
+        }
+
+        Flux<String> missing = Flux.using(
+            () -> new BufferedReader(new InputStreamReader(
+                context.backpressure().call(() -> context.httpClient().send(
+                    "GET",
+                    TypesenseHttpClient.collectionPath(context.collection(), "/documents/export"),
+                    Map.of("include_fields", "id"),
+                    HttpRequest.BodyPublishers.noBody()
+                )),
+                StandardCharsets.UTF_8
+            ), FileSerde.BUFFER_SIZE),
+            reader -> Flux.fromStream(reader.lines()),
+            throwConsumer(BufferedReader::close)
+        )
+            .mapNotNull(line -> line.isBlank() ? null : DeltaState.id(line.getBytes(StandardCharsets.UTF_8)))
+            .filter(id -> !context.delta().contains(id));
+
+        // ids are deleted while the export is still read, so only the chunks in flight are held in memory
+        return BulkGet.chunks(missing, 1000, 3000)
+            .flatMap(
+                ids -> Mono.fromCallable(() -> context.backpressure().call(
+                        () -> BulkDelete.delete(context.httpClient(), context.collection(), BulkGet.idFilter(ids), 1000)
+                    ))
+                    .subscribeOn(scheduler),
+                concurrency
+            )
+            .reduce(0L, Long::sum)
+            .blockOptional().orElse(0L);
+    }
+
+    /**
+     * Returns the declared vector fields, or the vector fields of the known schema, or, only when `discoverVectorFields`
+     * is set, of the schema read from Typesense. A schema that cannot be read, for instance with a key only allowed to
+     * import documents, just disables the float fast path.
+     */
+    private Set<String> renderVectorFields(RunContext runContext, TypesenseHttpClient httpClient, String collection, Map<?, ?> schema)
+        throws Exception {
+        List<String> declared = runContext.render(vectorFields).asList(String.class);
+        if (!declared.isEmpty()) {
+            return Set.copyOf(declared);
+        }
+        if (schema != null) {
+            return schemaVectorFields(schema);
+        }
+        if (!runContext.render(discoverVectorFields).as(Boolean.class).orElse(false)) {
+            return Set.of();
+        }
+
+        try {
+            return schemaVectorFields(httpClient.sendJson("GET", TypesenseHttpClient.collectionPath(collection, ""), Map.of(), null, Map.class));
+        } catch (TypesenseHttpException e) {
+            runContext.logger().debug("Unable to read the schema of the collection {} to find its vector fields", collection, e);
+            return Set.of();
+        }
+    }
+
+    /**
+     * Returns the {@code float[]} fields of a collection schema declared with {@code num_dim}.
+     */
+    static Set<String> schemaVectorFields(Map<?, ?> schema) {
+        Set<String> fields = new HashSet<>();
+        if (schema.get("fields") instanceof List<?> list) {
+            for (Object field : list) {
+                if (field instanceof Map<?, ?> map && "float[]".equals(map.get("type")) && map.get("num_dim") != null
+                    && map.get("name") instanceof String name) {
+                    fields.add(name);
+                }
             }
+        }
+        return fields;
+    }
+
+    /**
+     * Groups JSON lines into chunks, cutting before the line that would exceed the current document or byte budget.
+     */
+    static Flux<List<byte[]>> chunks(Flux<byte[]> lines, ChunkSizer sizer) {
+        return Flux.defer(() -> {
+            long[] current = new long[2];
+            return lines.bufferUntil(line -> {
+                long size = line.length + 1L;
+                boolean cut = current[0] > 0 && (current[0] >= sizer.documents() || current[1] + size > sizer.maxBytes());
+                if (cut) {
+                    current[0] = 0;
+                    current[1] = 0;
+                }
+                current[0]++;
+                current[1] += size;
+                return cut;
+            }, true);
         });
     }
 
-    @Builder
+    private static Mono<ChunkResult> bulkIndex(ImportContext context, List<byte[]> lines, Scheduler scheduler) {
+        return Mono.fromCallable(() -> importChunk(context, lines, 0))
+            .subscribeOn(scheduler)
+            .doOnError(e -> context.logger().error(
+                "Unexpected error while trying to bulk index documents in the collection {}",
+                context.collection(), e
+            ));
+    }
+
+    /**
+     * Imports one chunk, halving it when the node answers 413 and retrying it after a backoff on 429 and 503.
+     * <p>
+     * Documents rejected with an overload result code are retried together as a sub-chunk once the response is fully read
+     * and closed, after a backoff of their own: only an overload answer of the whole request opens the circuit shared by
+     * the run.
+     *
+     * @param documentAttempt number of times these documents were already retried after an overload result code
+     */
+    private static ChunkResult importChunk(ImportContext context, List<byte[]> lines, int documentAttempt) throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            context.backpressure().awaitClosed();
+            long start = System.nanoTime();
+            InputStream response;
+            try {
+                response = importLines(context, lines);
+            } catch (TypesenseHttpException e) {
+                context.metrics().failures.increment();
+                if (e.getStatus() == 413 && lines.size() > 1) {
+                    context.sizer().onOverload();
+                    int half = lines.size() / 2;
+                    return importChunk(context, lines.subList(0, half), documentAttempt)
+                        .plus(importChunk(context, lines.subList(half, lines.size()), documentAttempt));
+                }
+                if (Backpressure.isOverload(e.getStatus()) && context.backpressure().onOverload(attempt)) {
+                    context.sizer().onOverload();
+                    context.metrics().retries.increment();
+                    continue;
+                }
+                throw e;
+            }
+
+            context.backpressure().onSuccess();
+            List<Rejected> overloaded = new ArrayList<>();
+            ChunkResult result = readResults(context, lines, response, overloaded);
+            long latency = System.nanoTime() - start;
+            context.metrics().latency.record(latency);
+            context.sizer().onSuccess(Duration.ofNanos(latency));
+            if (overloaded.isEmpty()) {
+                return result;
+            }
+
+            if (documentAttempt >= context.documentRetries()) {
+                for (Rejected rejected : overloaded) {
+                    reject(context, rejected.line(), rejected.code(), rejected.error());
+                }
+                return result.plus(new ChunkResult(0, overloaded.size()));
+            }
+            Thread.sleep(Duration.ofNanos(context.backpressure().backoffNanos(documentAttempt)));
+            context.metrics().retries.increment();
+            return result.plus(importChunk(context, overloaded.stream().map(Rejected::line).toList(), documentAttempt + 1));
+        }
+    }
+
+    /**
+     * Streams the chunk as the import request body, one newline-terminated JSON document after the other, without
+     * concatenating it into a single buffer.
+     */
+    private static InputStream importLines(ImportContext context, List<byte[]> lines) throws IOException, InterruptedException {
+        List<byte[]> body = new ArrayList<>(lines.size() * 2);
+        long length = 0;
+        for (byte[] line : lines) {
+            body.add(line);
+            body.add(NEW_LINE);
+            length += line.length + NEW_LINE.length;
+        }
+        if (context.rateLimiter() != null) {
+            context.metrics().throttled.add(context.rateLimiter().acquire(lines.size(), length));
+        }
+
+        InputStream response = context.httpClient().send(
+            "POST",
+            TypesenseHttpClient.collectionPath(context.collection(), "/documents/import"),
+            Map.of("action", "upsert"),
+            HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofByteArrays(body), length)
+        );
+        context.metrics().bytesSent.add(length);
+        return new CountingInputStream(response, context.metrics().bytesReceived);
+    }
+
+    /**
+     * Reads the JSONL import response line by line as it arrives, the n-th line being the result of the n-th document.
+     * Documents rejected with an overload result code are added to {@code overloaded} rather than counted.
+     */
+    private static ChunkResult readResults(ImportContext context, List<byte[]> lines, InputStream response, List<Rejected> overloaded)
+        throws Exception {
+        long succeeded = 0;
+        long failed = 0;
+        int index = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response, StandardCharsets.UTF_8))) {
+            String resultLine;
+            while ((resultLine = reader.readLine()) != null) {
+                if (resultLine.isBlank()) {
+                    continue;
+                }
+                if (index == lines.size()) {
+                    throw new IllegalStateException(
+                        "Typesense answered more results than the " + lines.size() + " documents sent to the collection " + context.collection()
+                    );
+                }
+                JsonNode result = JacksonMapper.ofJson().readTree(resultLine);
+                byte[] line = lines.get(index++);
+                if (result.path("success").asBoolean(false)) {
+                    succeeded++;
+                    continue;
+                }
+
+                int code = result.path("code").asInt(0);
+                String error = result.path("error").asText(null);
+                if (Backpressure.isOverload(code)) {
+                    overloaded.add(new Rejected(line, code, error));
+                } else {
+                    failed++;
+                    reject(context, line, code, error);
+                }
+            }
+        }
+        if (index != lines.size()) {
+            throw new IllegalStateException(
+                "Typesense answered " + index + " results for the " + lines.size() + " documents sent to the collection " + context.collection()
+            );
+        }
+
+        return new ChunkResult(succeeded, failed);
+    }
+
+    private static void reject(ImportContext context, byte[] line, int code, String error) throws IOException {
+        if (context.delta() != null) {
+            context.delta().markFailed(line);
+        }
+        context.deadLetter().write(document(line), code, error);
+    }
+
+    /**
+     * Decodes a rejected line for the dead letter file, keeping it as text when it is not valid JSON.
+     */
+    private static Object document(byte[] line) {
+        try {
+            return JacksonMapper.ofJson().readValue(line, Object.class);
+        } catch (IOException e) {
+            return new String(line, StandardCharsets.UTF_8);
+        }
+    }
+
+    public enum Format {
+        ION,
+        JSONL
+    }
+
+    private record ImportContext(TypesenseHttpClient httpClient, String collection, Logger logger, DeadLetter deadLetter,
+                                 int documentRetries, ChunkSizer sizer, DeltaState delta, ImportMetrics metrics,
+                                 Backpressure backpressure, WriteRateLimiter rateLimiter) {
+    }
+
+    /**
+     * Import statistics of one run, updated from the concurrent import threads.
+     */
+    private static class ImportMetrics {
+        private final LatencyRecorder latency = new LatencyRecorder("import");
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+
+        void report(RunContext runContext, long records, Duration elapsed) {
+            latency.report(runContext);
+            runContext.metric(Counter.of("bytes.sent", bytesSent.sum()));
+            runContext.metric(Counter.of("bytes.received", bytesReceived.sum()));
+            runContext.metric(Counter.of("requests.retries", retries.sum()));
+            runContext.metric(Counter.of("requests.failed", failures.sum()));
+
+            // Kestra has no gauge metric, so the run-wide rates are reported as counters
+            double seconds = Math.max(elapsed.toNanos(), 1L) / 1e9;
+            runContext.metric(Counter.of("throughput.records", records / seconds));
+            runContext.metric(Counter.of("throughput.bytes", bytesSent.sum() / seconds));
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final LongAdder bytes;
+
+        CountingInputStream(InputStream inputStream, LongAdder bytes) {
+            super(inputStream);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1) {
+                bytes.increment();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                bytes.add(read);
+            }
+            return read;
+        }
+    }
+
+    private record Rejected(byte[] line, int code, String error) {
+    }
+
+    private record ChunkResult(long succeeded, long failed) {
+        ChunkResult plus(ChunkResult other) {
+            return new ChunkResult(succeeded + other.succeeded, failed + other.failed);
+        }
+    }
+
+    /**
+     * ION file collecting the documents Typesense rejected, written from the concurrent import threads.
+     */
+    private static class DeadLetter implements Closeable {
+        private final OutputStream output;
+        private boolean closed;
+
+        DeadLetter(File file) throws IOException {
+            this.output = new BufferedOutputStream(new FileOutputStream(file), FileSerde.BUFFER_SIZE);
+        }
+
+        synchronized void write(Object document, int code, String error) throws IOException {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("document", document);
+            row.put("code", code);
+            row.put("error", error);
+            FileSerde.write(output, row);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                output.close();
+            }
+        }
+    }
+
+    @SuperBuilder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(
@@ -145,6 +849,36 @@ public class BulkIndex extends AbstractTypesenseTask implements RunnableTask<Bul
             description = "Total number of documents read from the input and sent to Typesense."
         )
         private Long size;
+
+        @Schema(
+            title = "Succeeded document count",
+            description = "Number of documents Typesense accepted, including the ones that succeeded after a retry."
+        )
+        private Long succeeded;
+
+        @Schema(
+            title = "Failed document count",
+            description = "Number of documents Typesense rejected."
+        )
+        private Long failed;
+
+        @Schema(
+            title = "Failed documents URI",
+            description = "Storage URI of an Amazon ION file with one `document`, `code` and `error` row per rejected document; absent when every document succeeded."
+        )
+        private URI failedUri;
+
+        @Schema(
+            title = "Skipped document count",
+            description = "Number of unchanged documents the delta sync did not send; only set when `deltaSync` is true."
+        )
+        private Long skipped;
+
+        @Schema(
+            title = "Deleted document count",
+            description = "Number of vanished documents deleted by the delta sync; only set when `deltaSync` is true."
+        )
+        private Long deleted;
     }
 
 }
@@ -0,0 +1,62 @@
+package io.kestra.plugin.typesense;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides how many documents and bytes go into the next bulk import request.
+ * <p>
+ * In adaptive mode the document budget follows an additive increase / multiplicative decrease rule: it grows by a tenth
+ * of the initial size after every import faster than the target latency, and is halved after a slower import or a
+ * 413/503 answer from the node. It always stays between 1 and ten times the initial size.
+ */
+final class ChunkSizer {
+    private static final int MAX_GROWTH = 10;
+
+    private final AtomicInteger documents;
+    private final int maxDocuments;
+    private final int step;
+    private final long maxBytes;
+    private final boolean adaptive;
+    private final long targetLatencyNanos;
+
+    ChunkSizer(int documents, Long maxBytes, boolean adaptive, Duration targetLatency) {
+        int initial = Math.max(1, documents);
+        this.documents = new AtomicInteger(initial);
+        this.maxDocuments = adaptive ? initial * MAX_GROWTH : initial;
+        this.step = Math.max(1, initial / 10);
+        this.maxBytes = maxBytes == null ? Long.MAX_VALUE : maxBytes;
+        this.adaptive = adaptive;
+        this.targetLatencyNanos = targetLatency.toNanos();
+    }
+
+    int documents() {
+        return documents.get();
+    }
+
+    long maxBytes() {
+        return maxBytes;
+    }
+
+    void onSuccess(Duration latency) {
+        if (!adaptive) {
+            return;
+        }
+
+        if (latency.toNanos() <= targetLatencyNanos) {
+            documents.updateAndGet(current -> Math.min(maxDocuments, current + step));
+        } else {
+            decrease();
+        }
+    }
+
+    void onOverload() {
+        if (adaptive) {
+            decrease();
+        }
+    }
+
+    private void decrease() {
+        documents.updateAndGet(current -> Math.max(1, current / 2));
+    }
+}
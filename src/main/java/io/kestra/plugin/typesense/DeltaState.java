@@ -0,0 +1,282 @@
+package io.kestra.plugin.typesense;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Content hashes of the documents indexed by the previous delta sync, used to drop unchanged documents before they are chunked.
+ * <p>
+ * The state only keeps two 64-bit hashes per document, the id hash and the content hash, in parallel arrays sorted by
+ * id hash; lookups are binary searches. A run needs more than these 16 bytes per document: the previous state is held
+ * along the new one until sealing, the new arrays grow by doubling and briefly coexist with their copy when they do,
+ * sealing sorts a 4-byte position per document, and the state store is handed the sealed state as a byte array. The peak
+ * is about 64 bytes per document, 2 GB for 30 million documents.
+ * <p>
+ * The new state is recorded while the input is read and sealed once the import is over; documents Typesense rejected
+ * get a zero content hash so the next sync sends them again. The sealed state is streamed out with
+ * {@link #write(OutputStream)}, without an intermediate copy in memory.
+ */
+final class DeltaState {
+    static final String STATE_NAME = "typesense-delta";
+
+    private static final int VERSION = 1;
+    private static final long UNKNOWN_HASH = 0L;
+    private static final JsonFactory JSON_FACTORY = JacksonMapper.ofJson().getFactory();
+
+    private long[] previousIds;
+    private long[] previousHashes;
+
+    private long[] ids = new long[1024];
+    private long[] hashes = new long[1024];
+    private int size;
+    private long untracked;
+    private boolean sealed;
+    private final Set<Long> failed = ConcurrentHashMap.newKeySet();
+
+    private DeltaState(long[] previousIds, long[] previousHashes) {
+        this.previousIds = previousIds;
+        this.previousHashes = previousHashes;
+    }
+
+    static DeltaState empty() {
+        return new DeltaState(new long[0], new long[0]);
+    }
+
+    static DeltaState read(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(inputStream);
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported delta state version " + version);
+        }
+
+        int count = input.readInt();
+        long[] previousIds = new long[count];
+        long[] previousHashes = new long[count];
+        for (int i = 0; i < count; i++) {
+            previousIds[i] = input.readLong();
+        }
+        for (int i = 0; i < count; i++) {
+            previousHashes[i] = input.readLong();
+        }
+        return new DeltaState(previousIds, previousHashes);
+    }
+
+    /**
+     * Records the document in the new state and tells whether it differs from the previously indexed version.
+     * Documents without an {@code id} are always sent, as they cannot be tracked.
+     */
+    boolean hasChanged(byte[] line) {
+        String id = id(line);
+        if (id == null) {
+            untracked++;
+            return true;
+        }
+
+        long idHash = hash(id.getBytes(StandardCharsets.UTF_8));
+        long contentHash = hash(line);
+        add(idHash, contentHash);
+
+        int index = Arrays.binarySearch(previousIds, idHash);
+        return index < 0 || previousHashes[index] != contentHash;
+    }
+
+    /**
+     * Forgets the content hash of a document Typesense rejected, so it is not skipped by the next sync.
+     */
+    void markFailed(byte[] line) {
+        String id = id(line);
+        if (id != null) {
+            failed.add(hash(id.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Tells whether the id was part of the input; only valid once the state is sealed.
+     */
+    boolean contains(String id) {
+        seal();
+        return Arrays.binarySearch(ids, 0, size, hash(id.getBytes(StandardCharsets.UTF_8))) >= 0;
+    }
+
+    /**
+     * Number of input documents without an {@code id}, which Typesense gives a generated id the state cannot know.
+     */
+    long untracked() {
+        return untracked;
+    }
+
+    int size() {
+        seal();
+        return size;
+    }
+
+    /**
+     * Writes the sealed state in the format {@link #read(InputStream)} expects; the caller buffers and closes the stream.
+     */
+    void write(OutputStream outputStream) throws IOException {
+        seal();
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(VERSION);
+        output.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            output.writeLong(ids[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            output.writeLong(hashes[i]);
+        }
+        output.flush();
+    }
+
+    private void add(long idHash, long contentHash) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        ids[size] = idHash;
+        hashes[size] = contentHash;
+        size++;
+    }
+
+    /**
+     * Sorts the new state by id hash, drops repeated ids and clears the hashes of failed documents.
+     * <p>
+     * A repeated id keeps the content hash of its last occurrence, the one Typesense ended up indexing; as the sort is
+     * not stable, the input position of each entry is sorted along to find it.
+     */
+    private synchronized void seal() {
+        if (sealed) {
+            return;
+        }
+        sealed = true;
+        // no more lookups once sealed, so the previous state is released before the new one is sorted and stored
+        previousIds = new long[0];
+        previousHashes = new long[0];
+
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+        sort(ids, hashes, positions, 0, size - 1);
+
+        int unique = 0;
+        int lastPosition = -1;
+        for (int i = 0; i < size; i++) {
+            if (unique > 0 && ids[unique - 1] == ids[i]) {
+                if (positions[i] > lastPosition) {
+                    hashes[unique - 1] = hashes[i];
+                    lastPosition = positions[i];
+                }
+                continue;
+            }
+            ids[unique] = ids[i];
+            hashes[unique] = hashes[i];
+            lastPosition = positions[i];
+            unique++;
+        }
+        size = unique;
+
+        for (int i = 0; i < size && !failed.isEmpty(); i++) {
+            if (failed.contains(ids[i])) {
+                hashes[i] = UNKNOWN_HASH;
+            }
+        }
+    }
+
+    /**
+     * Quicksort of {@code keys}, applying the same swaps to {@code values} and {@code positions}.
+     */
+    private static void sort(long[] keys, long[] values, int[] positions, int low, int high) {
+        while (low < high) {
+            if (high - low < 16) {
+                for (int i = low + 1; i <= high; i++) {
+                    for (int j = i; j > low && keys[j - 1] > keys[j]; j--) {
+                        swap(keys, values, positions, j - 1, j);
+                    }
+                }
+                return;
+            }
+
+            long pivot = keys[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, values, positions, i++, j--);
+                }
+            }
+
+            // recurse into the smaller half to bound the stack depth
+            if (j - low < high - i) {
+                sort(keys, values, positions, low, j);
+                low = i;
+            } else {
+                sort(keys, values, positions, i, high);
+                high = j;
+            }
+        }
+    }
+
+    private static void swap(long[] keys, long[] values, int[] positions, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+        int position = positions[i];
+        positions[i] = positions[j];
+        positions[j] = position;
+    }
+
+    /**
+     * 64-bit hash made of two independent 32-bit hashes, both intrinsified by the JVM.
+     */
+    static long hash(byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return crc.getValue() << 32 | (Arrays.hashCode(bytes) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Reads the top-level {@code id} field of a JSON document, skipping nested values without decoding them.
+     * A line that is not valid JSON has no id: it is sent as is, so Typesense rejects it and it ends in the failed documents.
+     */
+    static String id(byte[] line) {
+        try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(name)) {
+                    return value.isScalarValue() && value != JsonToken.VALUE_NULL ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
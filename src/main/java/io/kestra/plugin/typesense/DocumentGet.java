@@ -1,11 +1,14 @@
 package io.kestra.plugin.typesense;
 
+import java.time.Duration;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.typesense.api.Client;
 
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
@@ -50,6 +53,9 @@ import io.kestra.core.models.annotations.PluginProperty;
                     """
             }
         )
+    },
+    metrics = {
+        @Metric(name = "get.duration", description = "Client-measured latency of the get request", type = Timer.TYPE),
     }
 )
 public class DocumentGet extends AbstractTypesenseTask implements RunnableTask<DocumentGet.Output> {
@@ -67,9 +73,11 @@ public class DocumentGet extends AbstractTypesenseTask implements RunnableTask<D
         Client client = getClient(runContext);
         Map<String, Object> document = null;
         String renderedDocumentId = runContext.render(documentId).as(String.class).orElseThrow();
+        long start = System.nanoTime();
         document = client.collections(renderCollection(runContext))
             .documents(renderedDocumentId)
             .retrieve();
+        runContext.metric(Timer.of("get.duration", Duration.ofNanos(System.nanoTime() - start)));
 
         Logger logger = runContext.logger();
         logger.debug("Document {} successfully retrieved", document);
@@ -5,7 +5,10 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.typesense.api.Client;
 
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.VoidOutput;
@@ -50,6 +53,10 @@ import io.kestra.core.models.annotations.PluginProperty;
                     """
             }
         )
+    },
+    metrics = {
+        @Metric(name = "backpressure.retries", description = "Number of backoffs after a 429 or 503 answer", type = Counter.TYPE),
+        @Metric(name = "backpressure.paused", description = "Time the upsert was paused waiting for an overloaded node", type = Timer.TYPE),
     }
 )
 public class DocumentIndex extends AbstractTypesenseTask implements RunnableTask<VoidOutput> {
@@ -65,9 +72,13 @@ public class DocumentIndex extends AbstractTypesenseTask implements RunnableTask
     public VoidOutput run(RunContext runContext) throws Exception {
         Client client = getClient(runContext);
         String renderedCollection = renderCollection(runContext);
-        client.collections(renderedCollection)
-            .documents()
-            .upsert(runContext.render(document).asMap(String.class, Object.class));
+        Map<String, Object> renderedDocument = runContext.render(document).asMap(String.class, Object.class);
+        Backpressure backpressure = renderBackpressure(runContext);
+        try {
+            backpressure.call(() -> client.collections(renderedCollection).documents().upsert(renderedDocument));
+        } finally {
+            backpressure.report(runContext);
+        }
 
         Logger logger = runContext.logger();
         logger.debug("Successfully added documents to collection {}", renderedCollection);
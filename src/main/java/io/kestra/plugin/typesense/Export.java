@@ -0,0 +1,391 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Export documents from Typesense",
+    description = "Streams the documents of a collection from the Typesense export endpoint into an Amazon ION file in internal storage, " +
+        "one record at a time, so collections of any size can be backed up or copied. Large collections can be split into " +
+        "partitions, by `filter_by` clauses or numeric ranges of a field, exported concurrently into one file each."
+)
+@Plugin(
+    examples = {
+        @io.kestra.core.models.annotations.Example(
+            title = "Export the European countries of a collection",
+            full = true,
+            code = {
+                """
+                    id: typesense_export
+                    namespace: company.team
+
+                    tasks:
+                      - id: export
+                        type: io.kestra.plugin.typesense.Export
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Countries
+                        filter: "region: Europe"
+                        excludeFields: "embedding"
+                    """
+            }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Export a large collection into 16 shards processed in parallel",
+            full = true,
+            code = {
+                """
+                    id: typesense_partitioned_export
+                    namespace: company.team
+
+                    tasks:
+                      - id: export
+                        type: io.kestra.plugin.typesense.Export
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Products
+                        partitionField: created_at
+                        partitionCount: 16
+                        concurrency: 4
+
+                      - id: each
+                        type: io.kestra.plugin.core.flow.ForEach
+                        values: "{{ outputs.export.uris }}"
+                        concurrencyLimit: 4
+                        tasks:
+                          - id: log
+                            type: io.kestra.plugin.core.log.Log
+                            message: "{{ taskrun.value }}"
+                    """
+            }
+        )
+    },
+    metrics = {
+        @Metric(name = "records", description = "Number of exported records", type = Counter.TYPE),
+        @Metric(name = "partitions", description = "Number of partitions exported", type = Counter.TYPE),
+        @Metric(name = "backpressure.retries", description = "Number of backoffs after a 429 or 503 answer", type = Counter.TYPE),
+        @Metric(name = "backpressure.paused", description = "Time requests were paused waiting for an overloaded node", type = Timer.TYPE),
+    }
+)
+public class Export extends AbstractTypesenseTask implements RunnableTask<Export.Output> {
+
+    @Schema(
+        title = "Filter expression",
+        description = "Optional `filter_by` clause restricting the exported documents."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> filter;
+
+    @Schema(
+        title = "Included fields",
+        description = "Optional comma-separated list of fields to export; other fields are left out."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> includeFields;
+
+    @Schema(
+        title = "Excluded fields",
+        description = "Optional comma-separated list of fields left out of the export."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> excludeFields;
+
+    @Schema(
+        title = "Partition filters",
+        description = "Optional list of `filter_by` clauses, each exported to its own file, such as one per region. They are combined " +
+            "with `filter`; documents matching none of them are not exported, and documents matching several are exported several times."
+    )
+    @PluginProperty(group = "processing")
+    private Property<List<String>> partitions;
+
+    @Schema(
+        title = "Partition field",
+        description = "Optional numeric sortable field whose value range, read from the lowest and highest documents, is split into " +
+            "`partitionCount` equal ranges exported to one file each, or one range per value when there are fewer values. Documents " +
+            "without a value for the field are not exported, unless no document has one: the collection is then exported as a single partition."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> partitionField;
+
+    @Schema(
+        title = "Partition count",
+        description = "Number of ranges `partitionField` is split into. Default 8."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Integer> partitionCount = Property.ofValue(8);
+
+    @Schema(
+        title = "Concurrent partitions",
+        description = "Number of partitions exported at once, each over its own connection. Default 4."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        TypesenseHttpClient httpClient = getHttpClient(runContext);
+        Backpressure backpressure = renderBackpressure(runContext);
+        String renderedCollection = renderCollection(runContext);
+        String renderedFilter = runContext.render(filter).as(String.class).orElse(null);
+
+        Map<String, String> query = new LinkedHashMap<>();
+        runContext.render(includeFields).as(String.class).ifPresent(value -> query.put("include_fields", value));
+        runContext.render(excludeFields).as(String.class).ifPresent(value -> query.put("exclude_fields", value));
+
+        List<String> partitionFilters = partitionFilters(runContext, httpClient, backpressure, renderedCollection, renderedFilter);
+        if (partitionFilters == null) {
+            if (renderedFilter != null) {
+                query.put("filter_by", renderedFilter);
+            }
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            long count = backpressure.call(() -> export(httpClient, renderedCollection, query, tempFile));
+
+            runContext.metric(Counter.of("records", count));
+            backpressure.report(runContext);
+            runContext.logger().info("Exported {} documents from the collection {}", count, renderedCollection);
+
+            return Output.builder()
+                .uri(runContext.storage().putFile(tempFile))
+                .size(count)
+                .build();
+        }
+
+        List<File> files = new ArrayList<>(partitionFilters.size());
+        for (int i = 0; i < partitionFilters.size(); i++) {
+            files.add(runContext.workingDir().createTempFile(".ion").toFile());
+        }
+
+        List<Long> counts;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Scheduler scheduler = Schedulers.fromExecutorService(executor);
+            counts = Flux.range(0, partitionFilters.size())
+                .flatMapSequential(
+                    index -> Mono.fromCallable(() -> {
+                            Map<String, String> partitionQuery = new LinkedHashMap<>(query);
+                            String partitionFilter = and(renderedFilter, partitionFilters.get(index));
+                            if (partitionFilter != null) {
+                                partitionQuery.put("filter_by", partitionFilter);
+                            }
+                            return backpressure.call(() -> export(httpClient, renderedCollection, partitionQuery, files.get(index)));
+                        })
+                        .subscribeOn(scheduler),
+                    runContext.render(concurrency).as(Integer.class).orElse(4)
+                )
+                .collectList()
+                .block();
+        }
+
+        List<URI> uris = new ArrayList<>(files.size());
+        for (File file : files) {
+            uris.add(runContext.storage().putFile(file));
+        }
+        long count = counts.stream().mapToLong(Long::longValue).sum();
+
+        runContext.metric(Counter.of("records", count));
+        runContext.metric(Counter.of("partitions", partitionFilters.size()));
+        backpressure.report(runContext);
+        runContext.logger().info("Exported {} documents from the collection {} in {} partitions", count, renderedCollection, uris.size());
+
+        return Output.builder()
+            .uris(uris)
+            .sizes(counts)
+            .size(count)
+            .build();
+    }
+
+    /**
+     * Returns the filter of each partition, or null when the export is not partitioned.
+     */
+    private List<String> partitionFilters(RunContext runContext, TypesenseHttpClient httpClient, Backpressure backpressure,
+        String collection, String filter) throws Exception {
+        List<String> renderedPartitions = runContext.render(partitions).asList(String.class);
+        String renderedPartitionField = runContext.render(partitionField).as(String.class).orElse(null);
+        if (!renderedPartitions.isEmpty() && renderedPartitionField != null) {
+            throw new IllegalArgumentException("Only one of `partitions` and `partitionField` can be set");
+        }
+        if (!renderedPartitions.isEmpty()) {
+            return renderedPartitions;
+        }
+        if (renderedPartitionField == null) {
+            return null;
+        }
+
+        Number min = backpressure.call(() -> boundary(httpClient, collection, filter, renderedPartitionField, "asc"));
+        Number max = backpressure.call(() -> boundary(httpClient, collection, filter, renderedPartitionField, "desc"));
+        if (min == null || max == null) {
+            // no document has a numeric value, such as in an empty collection: export everything as a single partition
+            runContext.logger().warn(
+                "No document of the collection {} has a numeric value for {}, exporting it as a single partition", collection, renderedPartitionField
+            );
+            return Collections.singletonList(null);
+        }
+        return ranges(renderedPartitionField, min, max, Math.max(1, runContext.render(partitionCount).as(Integer.class).orElse(8)));
+    }
+
+    /**
+     * Reads the lowest or highest value of the field with a one-hit sorted search.
+     */
+    private static Number boundary(TypesenseHttpClient httpClient, String collection, String filter, String field, String order)
+        throws Exception {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("q", "*");
+        query.put("sort_by", field + ":" + order);
+        query.put("per_page", "1");
+        query.put("include_fields", field);
+        if (filter != null) {
+            query.put("filter_by", filter);
+        }
+
+        Map<?, ?> result = httpClient.sendJson("GET", TypesenseHttpClient.collectionPath(collection, "/documents/search"), query, null, Map.class);
+        if (result.get("hits") instanceof List<?> hits && !hits.isEmpty()
+            && ((Map<?, ?>) hits.getFirst()).get("document") instanceof Map<?, ?> document
+            && document.get(field) instanceof Number value) {
+            return value;
+        }
+        return null;
+    }
+
+    /**
+     * Splits {@code [min, max]} into equal ranges, with whole bounds for integer fields. The i-th integer range starts at
+     * {@code low + span * i / count}, computed on {@link BigInteger} so extreme bounds do not overflow; a span smaller
+     * than the count gives one range per value.
+     */
+    static List<String> ranges(String field, Number min, Number max, int count) {
+        List<String> ranges = new ArrayList<>(count);
+        if (isIntegral(min) && isIntegral(max)) {
+            BigInteger low = new BigInteger(min.toString());
+            BigInteger span = new BigInteger(max.toString()).subtract(low).add(BigInteger.ONE);
+            BigInteger partitions = span.min(BigInteger.valueOf(count));
+            BigInteger start = low;
+            for (int i = 1; i <= partitions.intValue(); i++) {
+                BigInteger next = low.add(span.multiply(BigInteger.valueOf(i)).divide(partitions));
+                ranges.add(field + ":>=" + start + " && " + field + ":<=" + next.subtract(BigInteger.ONE));
+                start = next;
+            }
+            return ranges;
+        }
+
+        BigDecimal low = new BigDecimal(min.toString());
+        BigDecimal high = new BigDecimal(max.toString());
+        if (low.compareTo(high) == 0) {
+            return List.of(field + ":>=" + low.toPlainString() + " && " + field + ":<=" + high.toPlainString());
+        }
+        BigDecimal step = high.subtract(low).divide(BigDecimal.valueOf(count), MathContext.DECIMAL64);
+        for (int i = 0; i < count; i++) {
+            BigDecimal start = low.add(step.multiply(BigDecimal.valueOf(i)));
+            ranges.add(i == count - 1
+                ? field + ":>=" + start.toPlainString() + " && " + field + ":<=" + high.toPlainString()
+                : field + ":>=" + start.toPlainString() + " && " + field + ":<" + low.add(step.multiply(BigDecimal.valueOf(i + 1))).toPlainString());
+        }
+        return ranges;
+    }
+
+    private static boolean isIntegral(Number value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+            || value instanceof BigInteger;
+    }
+
+    private static String and(String filter, String partition) {
+        if (partition == null) {
+            return filter;
+        }
+        return filter == null ? partition : "(" + filter + ") && (" + partition + ")";
+    }
+
+    /**
+     * Pipes the JSONL export of a collection into an ION file, decoding a single document at a time.
+     *
+     * @return the number of exported documents
+     */
+    static long export(TypesenseHttpClient httpClient, String collection, Map<String, String> query, File file) throws Exception {
+        long count = 0;
+        try (
+            InputStream body = httpClient.send(
+                "GET",
+                TypesenseHttpClient.collectionPath(collection, "/documents/export"),
+                query,
+                HttpRequest.BodyPublishers.noBody()
+            );
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), FileSerde.BUFFER_SIZE);
+            OutputStream output = new BufferedOutputStream(new FileOutputStream(file), FileSerde.BUFFER_SIZE)
+        ) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                FileSerde.write(output, JacksonMapper.ofJson().readValue(line, Object.class));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+
+        @Schema(title = "Export URI", description = "Storage URI of the Amazon ION file with one row per exported document; absent for a partitioned export.")
+        private final URI uri;
+
+        @Schema(title = "Partition URIs", description = "Storage URIs of the ION file of each partition, in partition order; absent unless partitioned.")
+        private final List<URI> uris;
+
+        @Schema(title = "Partition document counts", description = "Number of documents written to each partition file, in partition order.")
+        private final List<Long> sizes;
+
+        @Schema(title = "Exported document count", description = "Number of documents written, over all files.")
+        private final Long size;
+    }
+
+}
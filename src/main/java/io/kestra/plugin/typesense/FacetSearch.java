@@ -1,14 +1,24 @@
 package io.kestra.plugin.typesense;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.typesense.model.SearchParameters;
+import org.typesense.model.SearchResult;
+
+import com.fasterxml.jackson.core.type.TypeReference;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -23,7 +33,8 @@ import io.kestra.core.models.annotations.PluginProperty;
 @NoArgsConstructor
 @Schema(
     title = "Search with facets in Typesense",
-    description = "Performs a search and computes facet counts on the specified fields."
+    description = "Performs a search and computes facet counts on the specified fields, returned as the `facets` output. " +
+        "With `facetOnly: true` no hit is requested nor written to storage, only the facet counts are returned."
 )
 @Plugin(
     examples = {
@@ -49,10 +60,38 @@ import io.kestra.core.models.annotations.PluginProperty;
                         facetBy: gdp
                     """
             }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Dashboard counts of the top brands, without any hit",
+            full = true,
+            code = {
+                """
+                    id: typesense_facet_counts
+                    namespace: company.team
+
+                    tasks:
+                      - id: facet_counts
+                        type: io.kestra.plugin.typesense.FacetSearch
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Products
+                        query: "*"
+                        queryBy: title
+                        facetBy: brand
+                        facetOnly: true
+                        maxFacetValues: 20
+
+                      - id: log
+                        type: io.kestra.plugin.core.log.Log
+                        message: "{{ outputs.facet_counts.facets[0].counts }}"
+                    """
+            }
         )
     }
 )
 public class FacetSearch extends Search {
+    private static final TypeReference<List<Map<String, Object>>> FACETS_TYPE = new TypeReference<>() {};
 
     @Schema(
         title = "Facet fields",
@@ -62,10 +101,137 @@ public class FacetSearch extends Search {
     @PluginProperty(group = "main")
     protected Property<String> facetBy;
 
+    @Schema(
+        title = "Maximum facet values",
+        description = "Number of values returned per facet field, passed as `max_facet_values`. Typesense defaults to 10."
+    )
+    @PluginProperty(group = "processing")
+    protected Property<Integer> maxFacetValues;
+
+    @Schema(
+        title = "Facet query",
+        description = "Optional `facet_query` only counting the facet values matching a prefix, such as `brand:sam`."
+    )
+    @PluginProperty(group = "processing")
+    protected Property<String> facetQuery;
+
+    @Schema(
+        title = "Facet only",
+        description = "Default false. When true, the search asks for `per_page=0`, so Typesense returns no hit, and the facet counts " +
+            "are only returned in the `facets` output, without writing a file to internal storage. Cannot be combined with " +
+            "`perPage`, `fetchAll` or `maxHits`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<Boolean> facetOnly = Property.ofValue(false);
+
+    @Override
+    public FacetSearch.Output run(RunContext runContext) throws Exception {
+        if (runContext.render(facetOnly).as(Boolean.class).orElse(false) && (
+            runContext.render(perPage).as(Integer.class).isPresent()
+                || runContext.render(maxHits).as(Integer.class).isPresent()
+                || runContext.render(fetchAll).as(Boolean.class).orElse(false)
+        )) {
+            throw new IllegalArgumentException("`facetOnly` cannot be combined with `perPage`, `fetchAll` or `maxHits`, as no hit is fetched");
+        }
+
+        Search.Output output = super.run(runContext);
+        // paginated searches write the hits of every page and have no facet counts to return
+        return output instanceof Output facetOutput ? facetOutput : Output.builder()
+            .uri(output.getUri())
+            .totalHits(output.getTotalHits())
+            .facets(List.of())
+            .build();
+    }
+
     @Override
     protected SearchParameters buildSearchParam(RunContext runContext)
         throws IllegalVariableEvaluationException {
-        SearchParameters searchParameters = super.buildSearchParam(runContext);
-        return searchParameters.facetBy(renderString(facetBy, runContext));
+        SearchParameters searchParameters = super.buildSearchParam(runContext)
+            .facetBy(renderString(facetBy, runContext));
+        runContext.render(maxFacetValues).as(Integer.class).ifPresent(searchParameters::maxFacetValues);
+        runContext.render(facetQuery).as(String.class).ifPresent(searchParameters::facetQuery);
+        if (runContext.render(facetOnly).as(Boolean.class).orElse(false)) {
+            searchParameters.perPage(0);
+        }
+        return searchParameters;
+    }
+
+    @Override
+    protected Search.Output generateOutput(RunContext runContext, SearchResult searchResult)
+        throws IOException, IllegalVariableEvaluationException {
+        List<Facet> facets = facets(searchResult);
+        if (runContext.render(facetOnly).as(Boolean.class).orElse(false)) {
+            return Output.builder()
+                .totalHits(searchResult.getFound())
+                .facets(facets)
+                .build();
+        }
+
+        Search.Output output = super.generateOutput(runContext, searchResult);
+        return Output.builder()
+            .uri(output.getUri())
+            .totalHits(output.getTotalHits())
+            .facets(facets)
+            .build();
+    }
+
+    private static List<Facet> facets(SearchResult searchResult) {
+        if (searchResult.getFacetCounts() == null) {
+            return List.of();
+        }
+
+        List<Facet> facets = new ArrayList<>();
+        for (Map<String, Object> facetCounts : JacksonMapper.ofJson().convertValue(searchResult.getFacetCounts(), FACETS_TYPE)) {
+            List<FacetValue> values = new ArrayList<>();
+            if (facetCounts.get("counts") instanceof List<?> counts) {
+                for (Object count : counts) {
+                    Map<?, ?> countMap = (Map<?, ?>) count;
+                    values.add(FacetValue.builder()
+                        .value(countMap.get("value") == null ? null : countMap.get("value").toString())
+                        .count(countMap.get("count") instanceof Number number ? number.longValue() : null)
+                        .build());
+                }
+            }
+            facets.add(Facet.builder()
+                .field((String) facetCounts.get("field_name"))
+                .counts(values)
+                .stats(facetCounts.get("stats") instanceof Map<?, ?> stats && !stats.isEmpty() ? stats : null)
+                .build());
+        }
+        return facets;
+    }
+
+    @SuperBuilder
+    @Getter
+    public static class Output extends Search.Output {
+
+        @Schema(title = "Facets", description = "Facet counts of each `facetBy` field, in request order.")
+        private final List<Facet> facets;
+    }
+
+    @Builder
+    @Getter
+    public static class Facet {
+
+        @Schema(title = "Field name")
+        private final String field;
+
+        @Schema(title = "Facet values", description = "Most frequent values with their document count, most frequent first.")
+        private final List<FacetValue> counts;
+
+        @Schema(title = "Statistics", description = "`min`, `max`, `sum` and `avg` of numeric facet fields, as returned by Typesense.")
+        private final Map<?, ?> stats;
+    }
+
+    @Builder
+    @Getter
+    public static class FacetValue {
+
+        @Schema(title = "Value")
+        private final String value;
+
+        @Schema(title = "Document count")
+        private final Long count;
     }
 }
@@ -0,0 +1,285 @@
+package io.kestra.plugin.typesense;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Transcodes an Amazon ION file into JSON lines token by token, without materializing a {@link java.util.Map} per record,
+ * or splits a file that already is JSON lines.
+ * <p>
+ * Top-level vector fields, such as embeddings, can be read into a reusable primitive {@code float[]} and written with
+ * the shortest float representation: Typesense stores vectors as 32-bit floats, so the extra digits of the 64-bit ION
+ * floats would only make the request body larger.
+ */
+final class IonJsonLines {
+    private static final JsonFactory JSON_FACTORY = JacksonMapper.ofJson().getFactory();
+
+    private IonJsonLines() {
+    }
+
+    /**
+     * Emits the UTF-8 JSON encoding of each top-level ION value, reading the input only as records are requested.
+     */
+    static Flux<byte[]> read(InputStream inputStream) {
+        return read(inputStream, Set.of());
+    }
+
+    /**
+     * Same as {@link #read(InputStream)}, writing the given top-level array fields of each record as 32-bit floats.
+     */
+    static Flux<byte[]> read(InputStream inputStream, Set<String> vectorFields) {
+        return Flux.generate(
+            () -> new Transcoder(JacksonMapper.ofIon().getFactory().createParser(inputStream), vectorFields),
+            (transcoder, sink) -> {
+                try {
+                    byte[] line = transcoder.next();
+                    if (line == null) {
+                        sink.complete();
+                    } else {
+                        sink.next(line);
+                    }
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+                return transcoder;
+            },
+            transcoder -> {
+                try {
+                    transcoder.parser.close();
+                } catch (IOException ignored) {
+                    // the input stream is closed by the caller
+                }
+            }
+        );
+    }
+
+    /**
+     * Emits each non-blank line of a JSON lines file as is, without a trailing {@code \r}. Lines are only split on
+     * {@code \n}, never decoded.
+     */
+    static Flux<byte[]> readJsonLines(InputStream inputStream) {
+        return Flux.generate(
+            () -> new LineSplitter(inputStream),
+            (splitter, sink) -> {
+                try {
+                    byte[] line = splitter.next();
+                    if (line == null) {
+                        sink.complete();
+                    } else {
+                        sink.next(line);
+                    }
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+                return splitter;
+            }
+        );
+    }
+
+    /**
+     * Copies the value the parser is positioned on, writing ION-only scalars such as timestamps and blobs as JSON strings.
+     */
+    static void copy(JsonParser parser, JsonGenerator generator) throws IOException {
+        int depth = 0;
+        JsonToken token = parser.currentToken();
+        while (token != null) {
+            switch (token) {
+                case START_OBJECT -> {
+                    generator.writeStartObject();
+                    depth++;
+                }
+                case START_ARRAY -> {
+                    generator.writeStartArray();
+                    depth++;
+                }
+                case END_OBJECT -> {
+                    generator.writeEndObject();
+                    depth--;
+                }
+                case END_ARRAY -> {
+                    generator.writeEndArray();
+                    depth--;
+                }
+                case VALUE_EMBEDDED_OBJECT -> writeEmbedded(parser.getEmbeddedObject(), generator);
+                default -> generator.copyCurrentEvent(parser);
+            }
+
+            if (depth == 0) {
+                return;
+            }
+            token = parser.nextToken();
+        }
+    }
+
+    private static void writeEmbedded(Object value, JsonGenerator generator) throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case byte[] bytes -> generator.writeBinary(bytes);
+            case Date date -> generator.writeString(date.toInstant().toString());
+            case TemporalAccessor temporal -> generator.writeString(temporal.toString());
+            default -> generator.writeString(value.toString());
+        }
+    }
+
+    /**
+     * Transcodes the records of one ION parser, reusing the same vector buffer for every record.
+     */
+    private static final class Transcoder {
+        private final JsonParser parser;
+        private final Set<String> vectorFields;
+        private float[] vector = new float[1024];
+
+        private Transcoder(JsonParser parser, Set<String> vectorFields) {
+            this.parser = parser;
+            this.vectorFields = vectorFields;
+        }
+
+        private byte[] next() throws IOException {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(512);
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(output)) {
+                if (vectorFields.isEmpty() || parser.currentToken() != JsonToken.START_OBJECT) {
+                    copy(parser, generator);
+                } else {
+                    generator.enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER.mappedFeature());
+                    copyRecord(generator);
+                }
+            }
+            return output.toByteArray();
+        }
+
+        private void copyRecord(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                generator.writeFieldName(name);
+                if (parser.nextToken() == JsonToken.START_ARRAY && vectorFields.contains(name)) {
+                    copyVector(generator);
+                } else {
+                    copy(parser, generator);
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        /**
+         * Reads the numbers of the array into the float buffer, then writes them; an array that turns out not to be
+         * a flat list of numbers, such as one holding a null, gets its remaining values copied as is.
+         */
+        private void copyVector(JsonGenerator generator) throws IOException {
+            int size = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+                if (size == vector.length) {
+                    vector = Arrays.copyOf(vector, size * 2);
+                }
+                vector[size++] = parser.getFloatValue();
+            }
+
+            generator.writeStartArray();
+            for (int i = 0; i < size; i++) {
+                generator.writeNumber(vector[i]);
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                copy(parser, generator);
+                token = parser.nextToken();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Splits a stream on newlines, scanning a reusable buffer and only copying the bytes of each line once.
+     */
+    private static final class LineSplitter {
+        private final InputStream inputStream;
+        private byte[] buffer = new byte[64 * 1024];
+        private int start;
+        private int end;
+        private boolean eof;
+
+        private LineSplitter(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        private byte[] next() throws IOException {
+            int scanned = start;
+            while (true) {
+                for (int i = scanned; i < end; i++) {
+                    if (buffer[i] == '\n') {
+                        byte[] line = slice(start, i);
+                        start = i + 1;
+                        if (line != null) {
+                            return line;
+                        }
+                    }
+                }
+                scanned = end;
+
+                if (eof) {
+                    byte[] line = slice(start, end);
+                    start = end;
+                    return line;
+                }
+                scanned -= fill();
+            }
+        }
+
+        /**
+         * Reads more input, first moving the pending partial line to the buffer start or growing the buffer for long lines.
+         *
+         * @return how far the pending bytes moved back
+         */
+        private int fill() throws IOException {
+            int shift = start;
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                start = 0;
+            } else if (end == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            int read = inputStream.read(buffer, end, buffer.length - end);
+            if (read == -1) {
+                eof = true;
+            } else {
+                end += read;
+            }
+            return shift;
+        }
+
+        /**
+         * Copies a line without its trailing carriage return, or returns {@code null} for a blank line.
+         */
+        private byte[] slice(int from, int to) {
+            if (to > from && buffer[to - 1] == '\r') {
+                to--;
+            }
+            for (int i = from; i < to; i++) {
+                if (!Character.isWhitespace(buffer[i])) {
+                    return Arrays.copyOfRange(buffer, from, to);
+                }
+            }
+            return null;
+        }
+    }
+}
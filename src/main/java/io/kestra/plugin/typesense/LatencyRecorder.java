@@ -0,0 +1,79 @@
+package io.kestra.plugin.typesense;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Collects the latency of the calls made by one task run and reports them as a few {@link Timer} metrics: the total
+ * time plus the p50, p99 and max latencies.
+ * <p>
+ * Emitting one metric per call would flood the metric store on large imports, so percentiles are computed locally over
+ * a uniform reservoir of at most 4096 samples, which keeps memory constant whatever the number of calls.
+ */
+final class LatencyRecorder {
+    private static final int RESERVOIR_SIZE = 4096;
+
+    private final String name;
+    private final long[] samples = new long[RESERVOIR_SIZE];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    <T> T time(Callable<T> call) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    synchronized void record(long nanos) {
+        if (count < RESERVOIR_SIZE) {
+            samples[(int) count] = nanos;
+        } else {
+            long slot = ThreadLocalRandom.current().nextLong(count + 1);
+            if (slot < RESERVOIR_SIZE) {
+                samples[(int) slot] = nanos;
+            }
+        }
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    /**
+     * Emits {@code <name>.duration}, {@code <name>.duration.p50}, {@code <name>.duration.p99} and {@code <name>.duration.max},
+     * or nothing when no call was recorded.
+     */
+    synchronized void report(RunContext runContext) {
+        if (count == 0) {
+            return;
+        }
+
+        long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, RESERVOIR_SIZE));
+        Arrays.sort(sorted);
+        runContext.metric(Timer.of(name + ".duration", Duration.ofNanos(totalNanos)));
+        runContext.metric(Timer.of(name + ".duration.p50", Duration.ofNanos(percentile(sorted, 0.50))));
+        runContext.metric(Timer.of(name + ".duration.p99", Duration.ofNanos(percentile(sorted, 0.99))));
+        runContext.metric(Timer.of(name + ".duration.max", Duration.ofNanos(maxNanos)));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,214 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.typesense.model.SearchParameters;
+
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Run many searches in batched multi_search requests",
+    description = "Reads one query per row from an Amazon ION file, packs them into Typesense `multi_search` requests and writes one row " +
+        "per query, with the query and its search result, to an Amazon ION file in internal storage. Each row may set `query`, `queryBy`, " +
+        "`filter`, `sortBy`, `facetBy`, `perPage` and `collection`; missing values fall back to the task properties."
+)
+@Plugin(
+    examples = {
+        @io.kestra.core.models.annotations.Example(
+            title = "Look up thousands of capitals with a few requests",
+            full = true,
+            code = {
+                """
+                    id: typesense_multi_search
+                    namespace: company.team
+
+                    tasks:
+                      - id: multi_search
+                        type: io.kestra.plugin.typesense.MultiSearch
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Countries
+                        from: kestra://data/capitals.ion
+                        queryBy: capital
+                        batchSize: 50
+                        concurrency: 4
+                    """
+            }
+        )
+    },
+    metrics = {
+        @Metric(name = "requests.count", description = "Number of multi_search requests", type = Counter.TYPE),
+        @Metric(name = "queries", description = "Number of queries", type = Counter.TYPE),
+        @Metric(name = "multi_search.duration", description = "Total time spent in multi_search requests", type = Timer.TYPE),
+        @Metric(name = "multi_search.duration.p50", description = "Median multi_search request latency", type = Timer.TYPE),
+        @Metric(name = "multi_search.duration.p99", description = "99th percentile multi_search request latency", type = Timer.TYPE),
+        @Metric(name = "multi_search.duration.max", description = "Slowest multi_search request", type = Timer.TYPE),
+        @Metric(name = "backpressure.retries", description = "Number of backoffs after a 429 or 503 answer", type = Counter.TYPE),
+        @Metric(name = "backpressure.paused", description = "Time requests were paused waiting for an overloaded node", type = Timer.TYPE),
+    }
+)
+public class MultiSearch extends AbstractTypesenseTask implements RunnableTask<MultiSearch.Output> {
+
+    @Schema(
+        title = "Input ION file URI",
+        description = "kestra:// or other storage URI pointing to an Amazon ION file with one query row per line."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> from;
+
+    @Schema(
+        title = "Default query fields",
+        description = "`query_by` used for rows without a `queryBy` value."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> queryBy;
+
+    @Schema(
+        title = "Default filter expression",
+        description = "`filter_by` used for rows without a `filter` value."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> filter;
+
+    @Schema(
+        title = "Default sort expression",
+        description = "`sort_by` used for rows without a `sortBy` value."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> sortBy;
+
+    @Schema(
+        title = "Queries per request",
+        description = "Number of searches packed into one `multi_search` request. Default 50, the Typesense default `limit_multi_searches`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> batchSize = Property.ofValue(50);
+
+    @Schema(
+        title = "Concurrent requests",
+        description = "Number of `multi_search` requests kept in flight at once. Default 4; results are still written in input order."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Defaults defaults = new Defaults(
+            renderCollection(runContext),
+            runContext.render(queryBy).as(String.class).orElse(null),
+            runContext.render(filter).as(String.class).orElse(null),
+            runContext.render(sortBy).as(String.class).orElse(null)
+        );
+        URI uri = new URI(renderString(from, runContext));
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        try (
+            BufferedInputStream inputStream = new BufferedInputStream(runContext.storage().getFile(uri), FileSerde.BUFFER_SIZE);
+            var output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)
+        ) {
+            MultiSearchBatches<Object> batches = new MultiSearchBatches<>(
+                getHttpClient(runContext),
+                renderBackpressure(runContext),
+                query -> searchBody(query, defaults),
+                MultiSearch::row
+            );
+            long count = batches.write(
+                FileSerde.readAll(inputStream),
+                runContext.render(batchSize).as(Integer.class).orElse(50),
+                runContext.render(concurrency).as(Integer.class).orElse(4),
+                output
+            );
+            output.flush();
+
+            batches.report(runContext, count);
+            runContext.logger().info("Ran {} queries in {} multi_search requests", count, batches.requestCount());
+
+            return Output.builder()
+                .uri(runContext.storage().putFile(tempFile))
+                .size(count)
+                .build();
+        }
+    }
+
+    private static Map<String, Object> row(Object query, Map<String, Object> result) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("query", query);
+        row.put("result", result);
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> searchBody(Object row, Defaults defaults) {
+        Map<String, Object> query = (Map<String, Object>) row;
+        SearchParameters searchParameters = Search.searchParameters(
+            value(query, "query", "*"),
+            value(query, "queryBy", defaults.queryBy()),
+            value(query, "filter", defaults.filter()),
+            value(query, "sortBy", defaults.sortBy())
+        );
+        String facetBy = value(query, "facetBy", null);
+        if (facetBy != null) {
+            searchParameters.facetBy(facetBy);
+        }
+        if (query.get("perPage") instanceof Number number) {
+            searchParameters.perPage(number.intValue());
+        }
+
+        Map<String, Object> body = JacksonMapper.ofJson().convertValue(searchParameters, Map.class);
+        body.put("collection", value(query, "collection", defaults.collection()));
+        return body;
+    }
+
+    private static String value(Map<String, Object> query, String key, String defaultValue) {
+        Object value = query.get(key);
+        return value == null ? defaultValue : value.toString();
+    }
+
+    private record Defaults(String collection, String queryBy, String filter, String sortBy) {
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+
+        @Schema(title = "Results URI", description = "Storage URI of the Amazon ION file with one `query` and `result` row per input query.")
+        private final URI uri;
+
+        @Schema(title = "Query count", description = "Number of queries run.")
+        private final Long size;
+    }
+
+}
@@ -0,0 +1,100 @@
+package io.kestra.plugin.typesense;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Packs queries into {@code multi_search} requests, keeps several of them in flight on virtual threads and writes one
+ * row per query, in input order. The tasks only differ in how a query becomes a search body and a result becomes a row.
+ *
+ * @param <Q> the query read from the input
+ */
+final class MultiSearchBatches<Q> {
+    private final TypesenseHttpClient httpClient;
+    private final Backpressure backpressure;
+    private final Function<Q, Map<String, Object>> searchBody;
+    private final BiFunction<Q, Map<String, Object>, Map<String, Object>> row;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final LatencyRecorder latency = new LatencyRecorder("multi_search");
+
+    MultiSearchBatches(TypesenseHttpClient httpClient, Backpressure backpressure, Function<Q, Map<String, Object>> searchBody,
+        BiFunction<Q, Map<String, Object>, Map<String, Object>> row) {
+        this.httpClient = httpClient;
+        this.backpressure = backpressure;
+        this.searchBody = searchBody;
+        this.row = row;
+    }
+
+    /**
+     * Runs the queries {@code batchSize} per request, {@code concurrency} requests at once, and writes the rows as ION.
+     *
+     * @return the number of rows written
+     */
+    long write(Flux<Q> queries, int batchSize, int concurrency, OutputStream output) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Scheduler scheduler = Schedulers.fromExecutorService(executor);
+            Flux<Map<String, Object>> rows = queries
+                .buffer(batchSize)
+                .flatMapSequential(
+                    batch -> Mono.fromCallable(() -> {
+                            requestCount.incrementAndGet();
+                            return backpressure.call(() -> latency.time(() -> search(batch)));
+                        })
+                        .subscribeOn(scheduler),
+                    concurrency
+                )
+                .concatMapIterable(results -> results);
+            return FileSerde.writeAll(output, rows).blockOptional().orElse(0L);
+        }
+    }
+
+    /**
+     * Sends one {@code multi_search} request and pairs each query with its result, failing when any result is missing.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> search(List<Q> queries) throws Exception {
+        List<Map<String, Object>> searches = new ArrayList<>(queries.size());
+        for (Q query : queries) {
+            searches.add(searchBody.apply(query));
+        }
+
+        Map<String, Object> response = httpClient.sendJson("POST", "/multi_search", Map.of(), Map.of("searches", searches), Map.class);
+        List<Object> results = (List<Object>) response.getOrDefault("results", List.of());
+        if (results.size() != queries.size()) {
+            throw new IllegalStateException("Typesense returned " + results.size() + " multi_search results for " + queries.size() + " queries");
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            rows.add(row.apply(queries.get(i), (Map<String, Object>) results.get(i)));
+        }
+        return rows;
+    }
+
+    long requestCount() {
+        return requestCount.get();
+    }
+
+    void report(RunContext runContext, long queryCount) {
+        runContext.metric(Counter.of("requests.count", requestCount.get()));
+        runContext.metric(Counter.of("queries", queryCount));
+        latency.report(runContext);
+        backpressure.report(runContext);
+    }
+}
@@ -0,0 +1,292 @@
+package io.kestra.plugin.typesense;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Rebuild a Typesense collection behind an alias",
+    description = "Blue/green reindex: creates a new versioned collection `<collection>_<timestamp>` from `schema`, bulk imports the " +
+        "input file into it while searches keep hitting the live collection, checks the imported document count, then points the " +
+        "`collection` alias to the new version in one step and drops the versions beyond `retention`. " +
+        "When the import or the checks fail, the new collection is dropped and the alias is left untouched."
+)
+@Plugin(
+    examples = {
+        @io.kestra.core.models.annotations.Example(
+            title = "Reload the Products collection from a nightly export",
+            full = true,
+            code = {
+                """
+                    id: typesense_reindex
+                    namespace: company.team
+
+                    tasks:
+                      - id: reindex
+                        type: io.kestra.plugin.typesense.Reindex
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Products
+                        from: kestra://data/products.ion
+                        schema:
+                          fields:
+                            - name: title
+                              type: string
+                            - name: price
+                              type: float
+                          default_sorting_field: price
+                        concurrency: 4
+                        minDocuments: 1000000
+                        retention: 2
+                    """
+            }
+        )
+    },
+    metrics = {
+        @Metric(name = "requests.count", description = "Number of request", type = Counter.TYPE),
+        @Metric(name = "records", description = "Number of records", type = Counter.TYPE),
+        @Metric(name = "records.succeeded", description = "Number of records accepted by Typesense", type = Counter.TYPE),
+        @Metric(name = "records.failed", description = "Number of records rejected by Typesense", type = Counter.TYPE),
+    }
+)
+public class Reindex extends BulkIndex {
+    private static final Pattern VERSION_SUFFIX = Pattern.compile("\\d{13}");
+
+    @Schema(
+        title = "Collection schema",
+        description = "Typesense collection schema used to create each version, as in the create collection API (`fields`, " +
+            "`default_sorting_field`, ...). Its `name` is replaced by the versioned collection name."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<Map<String, Object>> schema;
+
+    @Schema(
+        title = "Minimum document count",
+        description = "The alias is only swapped when the new collection holds at least this many documents. Default 1."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Long> minDocuments = Property.ofValue(1L);
+
+    @Schema(
+        title = "Allow rejected documents",
+        description = "Default false: the alias is not swapped when Typesense rejected any document. Set to true to swap anyway; " +
+            "the rejected documents are still reported in `failedUri`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> allowFailedDocuments = Property.ofValue(false);
+
+    @Schema(
+        title = "Versions to keep",
+        description = "Number of versions kept after the swap, the new one included. Default 2, so the previous version stays " +
+            "available to point the alias back to it."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> retention = Property.ofValue(2);
+
+    @Override
+    public Reindex.Output run(RunContext runContext) throws Exception {
+        if (runContext.render(getDeltaSync()).as(Boolean.class).orElse(false)) {
+            throw new IllegalArgumentException("`deltaSync` cannot be used with a reindex, which always starts from an empty collection");
+        }
+
+        TypesenseHttpClient httpClient = getHttpClient(runContext);
+        Backpressure backpressure = renderBackpressure(runContext);
+        Logger logger = runContext.logger();
+        String alias = renderCollection(runContext);
+        String version = alias + "_" + System.currentTimeMillis();
+
+        Map<String, Object> collectionSchema = new LinkedHashMap<>(runContext.render(schema).asMap(String.class, Object.class));
+        collectionSchema.put("name", version);
+        backpressure.call(() -> httpClient.sendJson("POST", "/collections", Map.of(), collectionSchema, Map.class));
+        logger.info("Created the collection {} for the alias {}", version, alias);
+
+        BulkIndex.Output imported;
+        try {
+            imported = index(runContext, version, collectionSchema);
+            verify(runContext, httpClient, backpressure, version, imported);
+        } catch (Exception e) {
+            logger.warn("Reindex of the alias {} failed, dropping the collection {}", alias, version);
+            try {
+                dropCollection(httpClient, version);
+            } catch (Exception dropError) {
+                e.addSuppressed(dropError);
+            }
+            throw e;
+        }
+
+        String previous = backpressure.call(() -> previousCollection(httpClient, alias));
+        backpressure.call(() -> httpClient.sendJson("PUT", TypesenseHttpClient.aliasPath(alias), Map.of(), Map.of("collection_name", version), Map.class));
+        logger.info("Alias {} now points to {} instead of {}", alias, version, previous);
+
+        List<String> dropped = dropOldVersions(logger, httpClient, alias, version, previous, runContext.render(retention).as(Integer.class).orElse(2));
+        if (!dropped.isEmpty()) {
+            logger.info("Dropped the old versions {} of the alias {}", dropped, alias);
+        }
+
+        return Output.builder()
+            .size(imported.getSize())
+            .succeeded(imported.getSucceeded())
+            .failed(imported.getFailed())
+            .failedUri(imported.getFailedUri())
+            .collection(version)
+            .previousCollection(previous)
+            .droppedCollections(dropped)
+            .build();
+    }
+
+    private void verify(RunContext runContext, TypesenseHttpClient httpClient, Backpressure backpressure, String version,
+        BulkIndex.Output imported) throws Exception {
+        if (imported.getFailed() > 0 && !runContext.render(allowFailedDocuments).as(Boolean.class).orElse(false)) {
+            throw new IllegalStateException(imported.getFailed() + " documents were rejected by Typesense, see " + imported.getFailedUri());
+        }
+
+        Map<?, ?> collection = backpressure.call(
+            () -> httpClient.sendJson("GET", TypesenseHttpClient.collectionPath(version, ""), Map.of(), null, Map.class)
+        );
+        long documents = collection.get("num_documents") instanceof Number number ? number.longValue() : 0L;
+        long renderedMinDocuments = runContext.render(minDocuments).as(Long.class).orElse(1L);
+        if (documents < renderedMinDocuments) {
+            throw new IllegalStateException(
+                "The collection " + version + " only holds " + documents + " documents, expected at least " + renderedMinDocuments
+            );
+        }
+    }
+
+    private static String previousCollection(TypesenseHttpClient httpClient, String alias) throws Exception {
+        try {
+            Map<?, ?> current = httpClient.sendJson("GET", TypesenseHttpClient.aliasPath(alias), Map.of(), null, Map.class);
+            return (String) current.get("collection_name");
+        } catch (TypesenseHttpException e) {
+            if (e.getStatus() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the versions of the alias beyond the retention, newest first, never dropping the current one.
+     * <p>
+     * Only collections named like the versions this task creates, {@code <alias>_<13-digit epoch millis>}, are considered,
+     * and only those not newer than the collection the alias pointed to before this run, so unrelated collections such
+     * as {@code <alias>_2023} and versions of a concurrent run are never dropped. Nothing is dropped when the alias did
+     * not point to a version before.
+     * <p>
+     * The alias already points to the new version, so the cleanup is best-effort: failures are logged, never failing a
+     * reindex that went live.
+     */
+    private static List<String> dropOldVersions(Logger logger, TypesenseHttpClient httpClient, String alias, String current,
+        String previous, int retention) throws InterruptedException {
+        Long previousVersion = versionOf(alias, previous);
+        if (previousVersion == null) {
+            return List.of();
+        }
+
+        List<?> collections;
+        try {
+            collections = httpClient.sendJson("GET", "/collections", Map.of(), null, List.class);
+        } catch (IOException e) {
+            logger.warn("Could not list the old versions of the alias {} to drop", alias, e);
+            return List.of();
+        }
+
+        List<String> versions = new ArrayList<>();
+        for (Object collection : collections) {
+            String name = (String) ((Map<?, ?>) collection).get("name");
+            Long version = versionOf(alias, name);
+            if (version != null && version <= previousVersion) {
+                versions.add(name);
+            }
+        }
+        versions.sort(Comparator.comparingLong((String name) -> versionOf(alias, name)).reversed());
+
+        // the current version counts towards the retention
+        List<String> dropped = new ArrayList<>();
+        int kept = Math.max(retention, 1) - 1;
+        for (String version : versions.subList(Math.min(kept, versions.size()), versions.size())) {
+            if (version.equals(current)) {
+                continue;
+            }
+            try {
+                dropCollection(httpClient, version);
+                dropped.add(version);
+            } catch (IOException e) {
+                logger.warn("Could not drop the old version {} of the alias {}", version, alias, e);
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Returns the timestamp of a collection named {@code <alias>_<13-digit epoch millis>}, or null for any other name.
+     */
+    static Long versionOf(String alias, String collection) {
+        String prefix = alias + "_";
+        if (collection == null || !collection.startsWith(prefix)) {
+            return null;
+        }
+        String suffix = collection.substring(prefix.length());
+        return VERSION_SUFFIX.matcher(suffix).matches() ? Long.parseLong(suffix) : null;
+    }
+
+    /**
+     * Drops a collection, a missing one counting as dropped: a drop outlasting the read timeout is retried on another
+     * node, which no longer finds it.
+     */
+    private static void dropCollection(TypesenseHttpClient httpClient, String collection) throws IOException, InterruptedException {
+        try {
+            httpClient.sendJson("DELETE", TypesenseHttpClient.collectionPath(collection, ""), Map.of(), null, Map.class);
+        } catch (TypesenseHttpException e) {
+            if (e.getStatus() != 404) {
+                throw e;
+            }
+        }
+    }
+
+    @SuperBuilder
+    @Getter
+    public static class Output extends BulkIndex.Output {
+
+        @Schema(title = "New collection", description = "Name of the versioned collection the alias now points to.")
+        private final String collection;
+
+        @Schema(title = "Previous collection", description = "Collection the alias pointed to before the swap; absent on the first reindex.")
+        private final String previousCollection;
+
+        @Schema(title = "Dropped collections", description = "Old versions dropped according to `retention`.")
+        private final List<String> droppedCollections;
+    }
+
+}
@@ -5,19 +5,32 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.typesense.api.Client;
 import org.typesense.model.SearchParameters;
 import org.typesense.model.SearchResult;
+import org.typesense.model.SearchResultHit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -28,6 +41,9 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 @SuperBuilder
 @ToString
@@ -61,10 +77,48 @@ import reactor.core.publisher.Flux;
                         sortBy: "gdp:desc"
                     """
             }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Export every matching document, one hit per row",
+            full = true,
+            code = {
+                """
+                    id: typesense_search_all
+                    namespace: company.team
+
+                    tasks:
+                      - id: search
+                        type: io.kestra.plugin.typesense.Search
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Countries
+                        query: "*"
+                        queryBy: capital
+                        fetchAll: true
+                    """
+            }
         )
+    },
+    metrics = {
+        @Metric(name = "cache.hits", description = "Searches answered from the worker result cache", type = Counter.TYPE),
+        @Metric(name = "cache.misses", description = "Searches sent to Typesense while the worker result cache is enabled", type = Counter.TYPE),
+        @Metric(name = "search.duration", description = "Total client-measured time of the search requests", type = Timer.TYPE),
+        @Metric(name = "search.duration.p50", description = "Median client-measured search latency", type = Timer.TYPE),
+        @Metric(name = "search.duration.p99", description = "99th percentile client-measured search latency", type = Timer.TYPE),
+        @Metric(name = "search.duration.max", description = "Slowest client-measured search", type = Timer.TYPE),
+        @Metric(name = "search.engine.duration", description = "Total `search_time_ms` reported by Typesense", type = Timer.TYPE),
+        @Metric(name = "search.engine.duration.p50", description = "Median `search_time_ms` reported by Typesense", type = Timer.TYPE),
+        @Metric(name = "search.engine.duration.p99", description = "99th percentile `search_time_ms` reported by Typesense", type = Timer.TYPE),
+        @Metric(name = "search.engine.duration.max", description = "Highest `search_time_ms` reported by Typesense", type = Timer.TYPE),
+        @Metric(name = "backpressure.retries", description = "Number of backoffs after a 429 or 503 answer", type = Counter.TYPE),
+        @Metric(name = "backpressure.paused", description = "Time searches were paused waiting for an overloaded node", type = Timer.TYPE),
     }
 )
 public class Search extends AbstractTypesenseTask implements RunnableTask<Search.Output> {
+    protected static final int MAX_PER_PAGE = 250;
+    private static final String NO_HIGHLIGHT_FIELD = "none";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
     @Schema(
         title = "Search query",
@@ -97,31 +151,267 @@ public class Search extends AbstractTypesenseTask implements RunnableTask<Search
     @PluginProperty(group = "processing")
     protected Property<String> sortBy;
 
+    @Schema(
+        title = "Included fields",
+        description = "Optional comma-separated `include_fields`: only these document fields are returned."
+    )
+    @PluginProperty(group = "processing")
+    protected Property<String> includeFields;
+
+    @Schema(
+        title = "Excluded fields",
+        description = "Optional comma-separated `exclude_fields`, such as large text or embedding fields, left out of returned documents."
+    )
+    @PluginProperty(group = "processing")
+    protected Property<String> excludeFields;
+
+    @Schema(
+        title = "Highlighted fields",
+        description = "Optional comma-separated `highlight_fields`; by default Typesense highlights every `queryBy` field."
+    )
+    @PluginProperty(group = "processing")
+    protected Property<String> highlightFields;
+
+    @Schema(
+        title = "Disable highlights",
+        description = "Default false. When true, Typesense is asked not to highlight any field and highlight data is left out of the output."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    protected Property<Boolean> disableHighlights = Property.ofValue(false);
+
+    @Schema(
+        title = "Output mode",
+        description = "`RESULT` (default) writes the Typesense search result, or one hit per row when walking pages. " +
+            "`DOCUMENTS` writes only the hit documents, one per row."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    protected Property<OutputMode> outputMode = Property.ofValue(OutputMode.RESULT);
+
+    @Schema(
+        title = "Typesense server-side cache",
+        description = "Optional `use_cache` flag asking Typesense to cache this search on the node."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Boolean> useCache;
+
+    @Schema(
+        title = "Typesense server-side cache TTL",
+        description = "Optional `cache_ttl`, in seconds, of the node-side cache enabled by `useCache`."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> cacheTtl;
+
+    @Schema(
+        title = "Worker result cache TTL",
+        description = "When set, single-page results are cached in the worker memory for this duration and identical searches " +
+            "(same cluster, collection and rendered parameters) are answered without calling Typesense."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Duration> localCacheTtl;
+
+    @Schema(
+        title = "Worker result cache size",
+        description = "Maximum number of results kept in the worker cache. Default 1000; least recently used results are evicted first."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> localCacheMaxEntries = Property.ofValue(1000);
+
+    @Schema(
+        title = "Worker result cache bytes",
+        description = "Maximum total JSON size of the results kept in the worker cache. Default 64 MiB."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Long> localCacheMaxBytes = Property.ofValue(64L * 1024 * 1024);
+
+    @Schema(
+        title = "Fetch every page",
+        description = "Default false, which stores the first result page as a single `SearchResult` row. When true, walks every result page " +
+            "and writes one ION row per hit as pages arrive; `totalHits` is then the number of hits written."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    protected Property<Boolean> fetchAll = Property.ofValue(false);
+
+    @Schema(
+        title = "Maximum hits",
+        description = "Walks result pages like `fetchAll` but stops after this many hits."
+    )
+    @PluginProperty(group = "processing")
+    protected Property<Integer> maxHits;
+
+    @Schema(
+        title = "Hits per page",
+        description = "`per_page` sent to Typesense. Defaults to the Typesense default (10) for a single page and to 250, the Typesense maximum, when walking pages."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> perPage;
+
+    @Schema(
+        title = "Concurrent page requests",
+        description = "Number of pages fetched at once when walking pages. Default 4; hits are still written in page order."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> pageConcurrency = Property.ofValue(4);
+
     @Override
     public Output run(RunContext runContext) throws Exception {
+        SearchTimers timers = new SearchTimers(renderBackpressure(runContext));
+        try {
+            return search(runContext, timers);
+        } finally {
+            timers.report(runContext);
+        }
+    }
+
+    private Output search(RunContext runContext, SearchTimers timers) throws Exception {
         Client client = getClient(runContext);
         SearchParameters searchParameters = buildSearchParam(runContext);
+        String renderedCollection = renderCollection(runContext);
         Logger logger = runContext.logger();
         logger.debug("Search with query: {}", searchParameters);
-        SearchResult searchResult = client.collections(renderCollection(runContext)).documents()
-            .search(searchParameters);
+
+        Integer renderedMaxHits = runContext.render(maxHits).as(Integer.class).orElse(null);
+        if (runContext.render(fetchAll).as(Boolean.class).orElse(false) || renderedMaxHits != null) {
+            return searchAllPages(runContext, timers, client, renderedCollection, searchParameters, renderedMaxHits);
+        }
+
+        runContext.render(perPage).as(Integer.class).ifPresent(searchParameters::perPage);
+        Duration renderedLocalCacheTtl = runContext.render(localCacheTtl).as(Duration.class).orElse(null);
+        if (renderedLocalCacheTtl == null) {
+            return generateOutput(runContext, timers.search(client, renderedCollection, searchParameters));
+        }
+
+        SearchResultCache.Key key = new SearchResultCache.Key(
+            renderSettings(runContext).cacheKey(),
+            renderedCollection,
+            JacksonMapper.ofJson().writeValueAsString(searchParameters)
+        );
+        SearchResult searchResult = SearchResultCache.get(key);
+        runContext.metric(Counter.of("cache.hits", searchResult == null ? 0 : 1));
+        runContext.metric(Counter.of("cache.misses", searchResult == null ? 1 : 0));
+        if (searchResult == null) {
+            searchResult = timers.search(client, renderedCollection, searchParameters);
+            SearchResultCache.put(
+                key,
+                searchResult,
+                JacksonMapper.ofJson().writeValueAsBytes(searchResult).length,
+                renderedLocalCacheTtl,
+                runContext.render(localCacheMaxEntries).as(Integer.class).orElse(1000),
+                runContext.render(localCacheMaxBytes).as(Long.class).orElse(64L * 1024 * 1024)
+            );
+        } else {
+            logger.debug("Search answered from the worker cache");
+        }
         return generateOutput(runContext, searchResult);
     }
 
+    /**
+     * Writes the hits of every page, fetching up to {@code pageConcurrency} pages at once and keeping only those in memory.
+     */
+    private Output searchAllPages(RunContext runContext, SearchTimers timers, Client client, String collection,
+        SearchParameters searchParameters, Integer renderedMaxHits) throws Exception {
+        int pageSize = runContext.render(perPage).as(Integer.class).orElse(MAX_PER_PAGE);
+        int concurrency = runContext.render(pageConcurrency).as(Integer.class).orElse(4);
+
+        SearchResult firstPage = searchPage(timers, client, collection, searchParameters, 1, pageSize);
+        long found = firstPage.getFound() == null ? 0 : firstPage.getFound();
+        long limit = renderedMaxHits == null ? found : Math.min(found, renderedMaxHits);
+        int pages = (int) ((limit + pageSize - 1) / pageSize);
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        try (
+            var output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            Scheduler scheduler = Schedulers.fromExecutorService(executor);
+            Function<SearchResultHit, Object> hitRow = hitRow(runContext);
+            Flux<Object> hits = Flux.concat(
+                    Flux.fromIterable(firstPage.getHits()),
+                    Flux.range(2, Math.max(0, pages - 1))
+                        .flatMapSequential(
+                            page -> Mono.fromCallable(() -> searchPage(timers, client, collection, searchParameters, page, pageSize))
+                                .subscribeOn(scheduler),
+                            concurrency
+                        )
+                        .concatMapIterable(SearchResult::getHits)
+                )
+                .take(limit)
+                .map(hitRow);
+            Long count = FileSerde.writeAll(output, hits).blockOptional().orElse(0L);
+            output.flush();
+
+            runContext.logger().debug("Wrote {} hits from {} pages", count, pages);
+            return Output.builder()
+                .uri(runContext.storage().putFile(tempFile))
+                .totalHits(count.intValue())
+                .build();
+        }
+    }
+
+    private static SearchResult searchPage(SearchTimers timers, Client client, String collection, SearchParameters searchParameters,
+        int page, int pageSize) throws Exception {
+        return timers.search(client, collection, copy(searchParameters).page(page).perPage(pageSize));
+    }
+
+    /**
+     * {@link SearchParameters} is mutable, so concurrent requests each work on their own copy.
+     */
+    protected static SearchParameters copy(SearchParameters searchParameters) {
+        return JacksonMapper.ofJson().convertValue(searchParameters, SearchParameters.class);
+    }
+
     protected SearchParameters buildSearchParam(RunContext runContext)
         throws IllegalVariableEvaluationException {
+        SearchParameters searchParameters = searchParameters(
+            renderString(query, runContext),
+            renderString(queryBy, runContext),
+            runContext.render(filter).as(String.class).orElse(null),
+            runContext.render(sortBy).as(String.class).orElse(null)
+        );
+        runContext.render(includeFields).as(String.class).ifPresent(searchParameters::includeFields);
+        runContext.render(useCache).as(Boolean.class).ifPresent(searchParameters::useCache);
+        runContext.render(cacheTtl).as(Integer.class).ifPresent(searchParameters::cacheTtl);
+        runContext.render(excludeFields).as(String.class).ifPresent(searchParameters::excludeFields);
+        if (runContext.render(disableHighlights).as(Boolean.class).orElse(false)) {
+            // Typesense has no switch to turn highlighting off, but ignores fields that do not exist
+            searchParameters.highlightFields(NO_HIGHLIGHT_FIELD);
+        } else {
+            runContext.render(highlightFields).as(String.class).ifPresent(searchParameters::highlightFields);
+        }
+        return searchParameters;
+    }
+
+    protected static SearchParameters searchParameters(String query, String queryBy, String filter, String sortBy) {
         return new SearchParameters()
-            .q(renderString(query, runContext))
-            .queryBy(renderString(queryBy, runContext))
-            .filterBy(runContext.render(filter).as(String.class).orElse(""))
-            .sortBy(runContext.render(sortBy).as(String.class).orElse(""));
+            .q(query)
+            .queryBy(queryBy)
+            .filterBy(filter == null ? "" : filter)
+            .sortBy(sortBy == null ? "" : sortBy);
     }
 
-    protected static Output generateOutput(RunContext runContext, SearchResult searchResult)
-        throws IOException {
+    protected Output generateOutput(RunContext runContext, SearchResult searchResult)
+        throws IOException, IllegalVariableEvaluationException {
+        Flux<Object> rows;
+        if (runContext.render(outputMode).as(OutputMode.class).orElse(OutputMode.RESULT) == OutputMode.DOCUMENTS) {
+            rows = Flux.fromIterable(searchResult.getHits()).map(SearchResultHit::getDocument);
+        } else if (runContext.render(disableHighlights).as(Boolean.class).orElse(false)) {
+            Map<String, Object> result = JacksonMapper.ofJson().convertValue(searchResult, MAP_TYPE);
+            if (result.get("hits") instanceof List<?> hits) {
+                hits.forEach(hit -> removeHighlights((Map<?, ?>) hit));
+            }
+            rows = Flux.just(result);
+        } else {
+            rows = Flux.just(searchResult);
+        }
+
         File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
         try (var output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
-            FileSerde.writeAll(output, Flux.just(searchResult)).blockOptional();
+            FileSerde.writeAll(output, rows).blockOptional();
 
             return Output.builder()
                 .uri(runContext.storage().putFile(tempFile))
@@ -130,7 +420,61 @@ public class Search extends AbstractTypesenseTask implements RunnableTask<Search
         }
     }
 
-    @Builder
+    /**
+     * Maps a hit to the row written when walking pages, according to the output mode and highlight settings.
+     */
+    private Function<SearchResultHit, Object> hitRow(RunContext runContext) throws IllegalVariableEvaluationException {
+        if (runContext.render(outputMode).as(OutputMode.class).orElse(OutputMode.RESULT) == OutputMode.DOCUMENTS) {
+            return SearchResultHit::getDocument;
+        }
+        if (runContext.render(disableHighlights).as(Boolean.class).orElse(false)) {
+            return hit -> removeHighlights(JacksonMapper.ofJson().convertValue(hit, MAP_TYPE));
+        }
+        return hit -> hit;
+    }
+
+    private static Map<?, ?> removeHighlights(Map<?, ?> hit) {
+        hit.remove("highlight");
+        hit.remove("highlights");
+        return hit;
+    }
+
+    public enum OutputMode {
+        RESULT,
+        DOCUMENTS
+    }
+
+    /**
+     * Client-measured latency next to the engine time Typesense reports in {@code search_time_ms}; their difference is the
+     * network and serialization cost.
+     */
+    private static class SearchTimers {
+        private final LatencyRecorder client = new LatencyRecorder("search");
+        private final LatencyRecorder engine = new LatencyRecorder("search.engine");
+        private final Backpressure backpressure;
+
+        SearchTimers(Backpressure backpressure) {
+            this.backpressure = backpressure;
+        }
+
+        SearchResult search(Client typesense, String collection, SearchParameters searchParameters) throws Exception {
+            SearchResult result = backpressure.call(
+                () -> client.time(() -> typesense.collections(collection).documents().search(searchParameters))
+            );
+            if (result.getSearchTimeMs() != null) {
+                engine.record(Duration.ofMillis(result.getSearchTimeMs()).toNanos());
+            }
+            return result;
+        }
+
+        void report(RunContext runContext) {
+            client.report(runContext);
+            engine.report(runContext);
+            backpressure.report(runContext);
+        }
+    }
+
+    @SuperBuilder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
 
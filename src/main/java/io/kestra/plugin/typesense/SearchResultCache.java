@@ -0,0 +1,65 @@
+package io.kestra.plugin.typesense;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.typesense.model.SearchResult;
+
+/**
+ * Worker-wide cache of search results, so identical searches repeated within their TTL are answered without any call.
+ * <p>
+ * Entries expire after the TTL of the task that stored them. On every insertion, the least recently used entries are
+ * evicted until the cache fits the entry count and byte budget of the inserting task; the byte size of an entry is the
+ * length of its JSON encoding.
+ */
+final class SearchResultCache {
+    private static final Map<Key, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+    private static long bytes;
+
+    private SearchResultCache() {
+    }
+
+    static synchronized SearchResult get(Key key) {
+        Entry entry = ENTRIES.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            ENTRIES.remove(key);
+            bytes -= entry.size;
+            return null;
+        }
+        return entry.result;
+    }
+
+    static synchronized void put(Key key, SearchResult result, long size, Duration ttl, int maxEntries, long maxBytes) {
+        Entry previous = ENTRIES.remove(key);
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+        if (size > maxBytes || maxEntries <= 0) {
+            return;
+        }
+
+        ENTRIES.put(key, new Entry(result, size, System.nanoTime() + ttl.toNanos()));
+        bytes += size;
+
+        Iterator<Entry> eldest = ENTRIES.values().iterator();
+        while (ENTRIES.size() > maxEntries || bytes > maxBytes) {
+            bytes -= eldest.next().size;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Identifies a search by cluster, collection and the JSON encoding of its fully rendered parameters.
+     */
+    record Key(TypesenseSettings settings, String collection, String searchParameters) {
+    }
+
+    private record Entry(SearchResult result, long size, long expiresAt) {
+    }
+}
@@ -0,0 +1,326 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.typesense.api.Client;
+import org.typesense.model.SearchParameters;
+import org.typesense.model.SearchResult;
+import org.typesense.model.SearchResultHit;
+
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.models.triggers.TriggerService;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Trigger a flow on new or updated Typesense documents",
+    description = "Polls a collection with a keyset cursor on a numeric sortable field, such as an `updated_at` timestamp, and starts " +
+        "one execution per poll with the documents changed since the last stored watermark, written to an Amazon ION file. " +
+        "Each poll only reads the documents at or above the watermark, so its cost follows the number of changes rather than the collection size."
+)
+@Plugin(
+    examples = {
+        @io.kestra.core.models.annotations.Example(
+            title = "Process the products updated since the previous poll",
+            full = true,
+            code = {
+                """
+                    id: typesense_trigger
+                    namespace: company.team
+
+                    tasks:
+                      - id: each
+                        type: io.kestra.plugin.core.log.Log
+                        message: "{{ trigger.size }} products changed, up to {{ trigger.watermark }}"
+
+                    triggers:
+                      - id: watch
+                        type: io.kestra.plugin.typesense.Trigger
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Products
+                        cursorField: updated_at
+                        interval: PT1M
+                    """
+            }
+        )
+    }
+)
+public class Trigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<Trigger.Output>, TypesenseConnectionInterface {
+    private static final String STATE_NAME = "typesense-trigger";
+
+    @Schema(
+        title = "Polling interval",
+        description = "Time between two polls. Default 60 seconds."
+    )
+    @Builder.Default
+    private final Duration interval = Duration.ofSeconds(60);
+
+    private Property<String> host;
+
+    private Property<String> port;
+
+    private Property<List<String>> nodes;
+
+    private Property<String> nearestNode;
+
+    private Property<Boolean> https;
+
+    private Property<String> apiKey;
+
+    private Property<Duration> connectionTimeout;
+
+    private Property<Duration> readTimeout;
+
+    private Property<Duration> healthcheckInterval;
+
+    private Property<Integer> numRetries;
+
+    private Property<Duration> retryInterval;
+
+    @Schema(
+        title = "Collection name",
+        description = "Name of the Typesense collection to poll"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> collection;
+
+    @Schema(
+        title = "Cursor field",
+        description = "Numeric field declared with `sort: true` that increases whenever a document changes, such as an `updated_at` epoch timestamp."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> cursorField;
+
+    @Schema(
+        title = "Filter expression",
+        description = "Optional `filter_by` clause combined with the cursor condition, to only watch part of the collection."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> filter;
+
+    @Schema(
+        title = "Initial watermark",
+        description = "Cursor value to start from when no watermark was stored yet. By default the first poll starts from the lowest value."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> initialWatermark;
+
+    @Schema(
+        title = "Maximum documents per execution",
+        description = "Upper bound of documents read by one poll. Default 10000; the remaining changes are picked up by the next polls."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxRecords = Property.ofValue(10000);
+
+    @Override
+    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+        Client client = TypesenseConnections.get(renderSettings(runContext)).client();
+        String renderedCollection = runContext.render(collection).as(String.class).orElseThrow();
+        String renderedCursorField = runContext.render(cursorField).as(String.class).orElseThrow();
+        String renderedFilter = runContext.render(filter).as(String.class).orElse(null);
+        int renderedMaxRecords = runContext.render(maxRecords).as(Integer.class).orElse(10000);
+
+        Watermark watermark = loadWatermark(runContext);
+        if (watermark == null) {
+            watermark = new Watermark(runContext.render(initialWatermark).as(String.class).orElse(null), List.of());
+        }
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        Cursor cursor;
+        try (var output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+            cursor = new Cursor(client, renderedCollection, renderedCursorField, renderedFilter, renderedMaxRecords, output, watermark);
+            cursor.poll();
+        }
+
+        if (cursor.count == 0) {
+            runContext.logger().debug("No document changed in the collection {}", renderedCollection);
+            return Optional.empty();
+        }
+
+        String newWatermark = cursor.value.toPlainString();
+        saveWatermark(runContext, new Watermark(newWatermark, List.copyOf(cursor.boundaryIds)));
+        runContext.logger().info("{} documents changed in the collection {}, watermark is now {}", cursor.count, renderedCollection, newWatermark);
+
+        Output output = Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .size(cursor.count)
+            .watermark(newWatermark)
+            .build();
+        return Optional.of(TriggerService.generateExecution(this, conditionContext, context, output));
+    }
+
+    private Watermark loadWatermark(RunContext runContext) throws Exception {
+        try (InputStream state = runContext.stateStore().getState(STATE_NAME, getId(), null)) {
+            return JacksonMapper.ofJson().readValue(state, Watermark.class);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    private void saveWatermark(RunContext runContext, Watermark watermark) throws Exception {
+        runContext.stateStore().putState(STATE_NAME, getId(), null, JacksonMapper.ofJson().writeValueAsBytes(watermark));
+    }
+
+    /**
+     * Keyset pagination over the cursor field: every page is the first page of {@code cursor:>value}, the highest value
+     * emitted so far, so a poll never skips nor repeats documents when the collection changes while it runs.
+     * <p>
+     * A page may end in the middle of documents sharing the same cursor value, which {@code cursor:>value} would skip.
+     * Those are then read on their own with {@code cursor:=value}, told apart by id from the ones already emitted, before
+     * moving past the value.
+     */
+    private static class Cursor {
+        private final Client client;
+        private final String collection;
+        private final String field;
+        private final String filter;
+        private final int maxRecords;
+        private final int pageSize;
+        private final OutputStream output;
+
+        private BigDecimal value;
+        private final Set<String> boundaryIds;
+        private long count;
+
+        Cursor(Client client, String collection, String field, String filter, int maxRecords, OutputStream output, Watermark watermark) {
+            this.client = client;
+            this.collection = collection;
+            this.field = field;
+            this.filter = filter;
+            this.maxRecords = maxRecords;
+            this.pageSize = Math.min(maxRecords, Search.MAX_PER_PAGE);
+            this.output = output;
+            this.value = watermark.value() == null ? null : new BigDecimal(watermark.value());
+            this.boundaryIds = new LinkedHashSet<>(watermark.ids());
+        }
+
+        void poll() throws Exception {
+            // documents at the watermark that the previous poll did not reach
+            if (value != null) {
+                readValue(value);
+            }
+
+            while (count < maxRecords) {
+                BigDecimal from = value;
+                List<SearchResultHit> hits = search(from == null ? null : field + ":>" + from.toPlainString(), 1);
+                for (SearchResultHit hit : hits) {
+                    emit(hit.getDocument());
+                }
+                // a full page without any numeric cursor value cannot move the keyset forward
+                if (hits.size() < pageSize || count >= maxRecords || value == null || value.equals(from)) {
+                    return;
+                }
+                readValue(value);
+            }
+        }
+
+        /**
+         * Emits the documents with exactly the given cursor value that were not emitted yet.
+         */
+        private void readValue(BigDecimal boundary) throws Exception {
+            for (int page = 1; count < maxRecords; page++) {
+                List<SearchResultHit> hits = search(field + ":=" + boundary.toPlainString(), page);
+                for (SearchResultHit hit : hits) {
+                    if (!boundaryIds.contains(String.valueOf(hit.getDocument().get("id")))) {
+                        emit(hit.getDocument());
+                    }
+                }
+                if (hits.size() < pageSize) {
+                    return;
+                }
+            }
+        }
+
+        private List<SearchResultHit> search(String cursorFilter, int page) throws Exception {
+            String combinedFilter = cursorFilter == null ? filter
+                : filter == null ? cursorFilter : "(" + filter + ") && " + cursorFilter;
+            SearchParameters searchParameters = Search.searchParameters("*", null, combinedFilter, field + ":asc")
+                .page(page)
+                .perPage(pageSize);
+            SearchResult result = client.collections(collection).documents().search(searchParameters);
+            return result.getHits();
+        }
+
+        private void emit(Map<String, Object> document) throws IOException {
+            if (count >= maxRecords || !(document.get(field) instanceof Number number)) {
+                return;
+            }
+
+            BigDecimal documentValue = new BigDecimal(number.toString());
+            FileSerde.write(output, document);
+            count++;
+            if (value == null || documentValue.compareTo(value) > 0) {
+                value = documentValue;
+                boundaryIds.clear();
+            }
+            if (documentValue.compareTo(value) == 0) {
+                boundaryIds.add(String.valueOf(document.get("id")));
+            }
+        }
+    }
+
+    /**
+     * Highest cursor value emitted so far, with the ids emitted at exactly that value, which the next poll skips as it
+     * reads from the watermark included.
+     */
+    record Watermark(String value, List<String> ids) {
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+
+        @Schema(title = "Documents URI", description = "Storage URI of the Amazon ION file with the changed documents, in cursor order.")
+        private final URI uri;
+
+        @Schema(title = "Document count", description = "Number of documents in the file.")
+        private final Long size;
+
+        @Schema(title = "Watermark", description = "Highest cursor value emitted, where the next poll starts from.")
+        private final String watermark;
+    }
+
+}
@@ -0,0 +1,35 @@
+package io.kestra.plugin.typesense;
+
+import org.typesense.api.Client;
+import org.typesense.api.Configuration;
+
+/**
+ * typesense-java client and streaming HTTP client sharing the same connection settings.
+ */
+record TypesenseConnection(Client client, TypesenseHttpClient httpClient) implements AutoCloseable {
+
+    static TypesenseConnection of(TypesenseSettings settings) {
+        // typesense-java applies its single timeout to both connecting and reading
+        Configuration configuration = new Configuration(
+            settings.nearestNode() == null ? null : settings.nearestNode().toNode(),
+            settings.nodes().stream().map(TypesenseNode::toNode).toList(),
+            settings.readTimeout() == null || settings.readTimeout().compareTo(settings.connectionTimeout()) < 0
+                ? settings.connectionTimeout()
+                : settings.readTimeout(),
+            settings.healthcheckInterval(),
+            settings.numRetries(),
+            settings.retryInterval(),
+            settings.apiKey()
+        );
+
+        return new TypesenseConnection(new Client(configuration), new TypesenseHttpClient(settings));
+    }
+
+    /**
+     * Closes the streaming HTTP client; typesense-java keeps no resource to release.
+     */
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
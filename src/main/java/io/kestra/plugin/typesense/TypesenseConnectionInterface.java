@@ -0,0 +1,133 @@
+package io.kestra.plugin.typesense;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Connection properties of the Typesense tasks and trigger, rendered into the {@link TypesenseSettings} of a shared connection.
+ */
+public interface TypesenseConnectionInterface {
+
+    @Schema(
+        title = "Typesense host",
+        description = "Hostname or IP address of the Typesense cluster node or load balancer. Required unless `nodes` is set"
+    )
+    @PluginProperty(group = "main")
+    Property<String> getHost();
+
+    @Schema(
+        title = "Typesense port",
+        description = "TCP port for the Typesense HTTP API; 8108 is the Typesense default. Required unless `nodes` is set"
+    )
+    @PluginProperty(group = "main")
+    Property<String> getPort();
+
+    @Schema(
+        title = "Typesense cluster nodes",
+        description = "Node URLs of a multi-node cluster, such as `https://typesense-1.internal:8108`. When set, `host`, `port` and `https` are ignored; " +
+            "requests rotate over the nodes and fail over to the next one on connection errors, timeouts and 5xx answers"
+    )
+    @PluginProperty(group = "main")
+    Property<List<String>> getNodes();
+
+    @Schema(
+        title = "Nearest node",
+        description = "Optional node URL, such as a load balancer or the node in the same zone, tried first before falling back to `nodes`"
+    )
+    @PluginProperty(group = "advanced")
+    Property<String> getNearestNode();
+
+    @Schema(
+        title = "Typesense API key",
+        description = "Admin or search key used for this request; must allow access to the target collection"
+    )
+    @NotNull
+    @PluginProperty(group = "main", secret = true)
+    Property<String> getApiKey();
+
+    @Schema(
+        title = "Use HTTPS",
+        description = "Default false (HTTP). Set to true to call Typesense over HTTPS/TLS"
+    )
+    @PluginProperty(group = "advanced")
+    Property<Boolean> getHttps();
+
+    @Schema(
+        title = "Connection timeout",
+        description = "Maximum time to open a connection to a node. Default 2 seconds"
+    )
+    @PluginProperty(group = "advanced")
+    Property<Duration> getConnectionTimeout();
+
+    @Schema(
+        title = "Read timeout",
+        description = "Maximum time to wait for a node to answer a request, such as a large bulk import. No limit by default for imports, exports, multi-searches " +
+            "and collection management; the other calls use the larger of this value and `connectionTimeout`"
+    )
+    @PluginProperty(group = "advanced")
+    Property<Duration> getReadTimeout();
+
+    @Schema(
+        title = "Healthcheck interval",
+        description = "Time during which a node that just failed is skipped before being tried again. Default 60 seconds"
+    )
+    @PluginProperty(group = "advanced")
+    Property<Duration> getHealthcheckInterval();
+
+    @Schema(
+        title = "Node retries",
+        description = "Number of times a request failing with a connection error, timeout or 5xx answer is retried on the next node. Default 3. " +
+            "Imports, exports and multi-searches leave 429 and 503 answers to the `overloadRetries` backoff instead"
+    )
+    @PluginProperty(group = "advanced")
+    Property<Integer> getNumRetries();
+
+    @Schema(
+        title = "Node retry interval",
+        description = "Wait between two node retries. Default 100 milliseconds"
+    )
+    @PluginProperty(group = "advanced")
+    Property<Duration> getRetryInterval();
+
+    /**
+     * Renders the connection properties; unset ones fall back to the {@link TypesenseSettings} defaults.
+     */
+    default TypesenseSettings renderSettings(RunContext context) throws IllegalVariableEvaluationException {
+        return new TypesenseSettings(
+            renderNodes(context),
+            context.render(getNearestNode()).as(String.class).map(TypesenseNode::parse).orElse(null),
+            context.render(getApiKey()).as(String.class).orElseThrow(),
+            context.render(getConnectionTimeout()).as(Duration.class).orElse(TypesenseSettings.DEFAULT_CONNECTION_TIMEOUT),
+            context.render(getReadTimeout()).as(Duration.class).orElse(null),
+            context.render(getHealthcheckInterval()).as(Duration.class).orElse(TypesenseSettings.DEFAULT_HEALTHCHECK_INTERVAL),
+            context.render(getNumRetries()).as(Integer.class).orElse(TypesenseSettings.DEFAULT_NUM_RETRIES),
+            context.render(getRetryInterval()).as(Duration.class).orElse(TypesenseSettings.DEFAULT_RETRY_INTERVAL)
+        );
+    }
+
+    /**
+     * Renders the cluster nodes from either the `nodes` URLs or the single `host`, `port` and `https` node.
+     */
+    private List<TypesenseNode> renderNodes(RunContext context) throws IllegalVariableEvaluationException {
+        List<String> renderedNodes = context.render(getNodes()).asList(String.class);
+        if (!renderedNodes.isEmpty()) {
+            return renderedNodes.stream().map(TypesenseNode::parse).toList();
+        }
+
+        return List.of(new TypesenseNode(
+            context.render(getHttps()).as(Boolean.class).orElse(false) ? "https" : "http",
+            context.render(getHost()).as(String.class)
+                .orElseThrow(() -> new IllegalArgumentException("Either `host` and `port` or `nodes` must be set")),
+            context.render(getPort()).as(String.class)
+                .orElseThrow(() -> new IllegalArgumentException("Either `host` and `port` or `nodes` must be set"))
+        ));
+    }
+}
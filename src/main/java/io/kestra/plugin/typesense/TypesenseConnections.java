@@ -0,0 +1,77 @@
+package io.kestra.plugin.typesense;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Worker-wide cache of {@link TypesenseConnection}, so that task runs targeting the same cluster reuse warm keep-alive
+ * connections instead of paying a new TCP and TLS handshake each time.
+ * <p>
+ * Entries are keyed by {@link TypesenseSettings#cacheKey()}, dropped after {@link #IDLE_TIMEOUT} without use and capped
+ * to {@link #MAX_ENTRIES}, evicting the least recently used one first. Dropped connections are closed to release their
+ * sockets and threads.
+ */
+final class TypesenseConnections {
+    static final int MAX_ENTRIES = 64;
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private static final Map<TypesenseSettings, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+
+    private TypesenseConnections() {
+    }
+
+    static TypesenseConnection get(TypesenseSettings settings) {
+        TypesenseSettings key = settings.cacheKey();
+        long now = System.nanoTime();
+        List<TypesenseConnection> evicted = new ArrayList<>();
+        TypesenseConnection connection;
+
+        synchronized (ENTRIES) {
+            for (Iterator<Entry> entries = ENTRIES.values().iterator(); entries.hasNext(); ) {
+                Entry entry = entries.next();
+                if (now - entry.lastAccess > IDLE_TIMEOUT.toNanos()) {
+                    evicted.add(entry.connection);
+                    entries.remove();
+                }
+            }
+
+            Entry entry = ENTRIES.get(key);
+            if (entry == null) {
+                entry = new Entry(TypesenseConnection.of(settings));
+                ENTRIES.put(key, entry);
+
+                if (ENTRIES.size() > MAX_ENTRIES) {
+                    Iterator<Entry> eldest = ENTRIES.values().iterator();
+                    evicted.add(eldest.next().connection);
+                    eldest.remove();
+                }
+            }
+
+            entry.lastAccess = now;
+            connection = entry.connection;
+        }
+
+        // outside the lock, so closing never delays the tasks fetching their connection
+        evicted.forEach(TypesenseConnection::close);
+        return connection;
+    }
+
+    static int size() {
+        synchronized (ENTRIES) {
+            return ENTRIES.size();
+        }
+    }
+
+    private static final class Entry {
+        private final TypesenseConnection connection;
+        private long lastAccess;
+
+        private Entry(TypesenseConnection connection) {
+            this.connection = connection;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package io.kestra.plugin.typesense;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Thin client over the Typesense HTTP API for the endpoints that must be streamed, which typesense-java only exposes
+ * through fully buffered {@link String} bodies.
+ * <p>
+ * Like typesense-java, it prefers the nearest node when one is configured, otherwise rotates over the nodes, and fails
+ * over to the next node on connection errors, timeouts and 5xx answers. A failing node is skipped until the
+ * healthcheck interval has elapsed. Overload answers (429 and 503) are thrown at once for the caller's {@link Backpressure}
+ * to back off, rather than retried here, so an overloaded cluster is not hit by both retry loops.
+ */
+final class TypesenseHttpClient implements AutoCloseable {
+    private static final String API_KEY_HEADER = "X-TYPESENSE-API-KEY";
+
+    private final Duration connectionTimeout;
+    private HttpClient httpClient;
+    private final List<NodeState> nodes;
+    private final NodeState nearestNode;
+    private final AtomicInteger nextNode = new AtomicInteger();
+    private final String apiKey;
+    private final Duration readTimeout;
+    private final long healthcheckIntervalNanos;
+    private final int numRetries;
+    private final Duration retryInterval;
+
+    TypesenseHttpClient(TypesenseSettings settings) {
+        this.connectionTimeout = settings.connectionTimeout();
+        this.nodes = settings.nodes().stream().map(NodeState::new).toList();
+        this.nearestNode = settings.nearestNode() == null ? null : new NodeState(settings.nearestNode());
+        this.apiKey = settings.apiKey();
+        this.readTimeout = settings.readTimeout();
+        this.healthcheckIntervalNanos = settings.healthcheckInterval().toNanos();
+        this.numRetries = settings.numRetries();
+        this.retryInterval = settings.retryInterval();
+    }
+
+    static String collectionPath(String collection, String suffix) {
+        return "/collections/" + encodePathSegment(collection) + suffix;
+    }
+
+    static String aliasPath(String alias) {
+        return "/aliases/" + encodePathSegment(alias);
+    }
+
+    /**
+     * Sends a request and returns the response body as a stream, throwing a {@link TypesenseHttpException} on any non-2xx status.
+     * The body publisher must support being subscribed again, as the request is replayed on another node on failure.
+     * The caller must close the returned stream.
+     */
+    InputStream send(String method, String path, Map<String, String> query, HttpRequest.BodyPublisher body)
+        throws IOException, InterruptedException {
+        return send(method, path, query, "application/octet-stream", body);
+    }
+
+    /**
+     * Sends a JSON body, or no body when it is {@code null}, and decodes the JSON response. Like streamed requests, it is
+     * only bounded by the read timeout when one is set, as multi-search batches and collection drops can take long.
+     */
+    <T> T sendJson(String method, String path, Map<String, String> query, Object body, Class<T> responseType)
+        throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofByteArray(JacksonMapper.ofJson().writeValueAsBytes(body));
+        try (InputStream response = send(method, path, query, "application/json", publisher)) {
+            return JacksonMapper.ofJson().readValue(response, responseType);
+        }
+    }
+
+    InputStream send(String method, String path, Map<String, String> query, String contentType, HttpRequest.BodyPublisher body)
+        throws IOException, InterruptedException {
+        IOException lastError = null;
+
+        for (int attempt = 0; attempt <= numRetries; attempt++) {
+            if (attempt > 0) {
+                Thread.sleep(retryInterval.toMillis());
+            }
+
+            NodeState node = selectNode();
+            HttpResponse<InputStream> response;
+            try {
+                response = httpClient().send(request(node, method, path, query, contentType, body), HttpResponse.BodyHandlers.ofInputStream());
+            } catch (IOException e) {
+                node.markUnhealthy();
+                lastError = e;
+                continue;
+            }
+
+            if (response.statusCode() / 100 == 2) {
+                node.markHealthy();
+                return response.body();
+            }
+
+            TypesenseHttpException error;
+            try (InputStream errorBody = response.body()) {
+                error = new TypesenseHttpException(response.statusCode(), new String(errorBody.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            if (Backpressure.isOverload(response.statusCode())) {
+                // a node not ready or lagging is skipped by the backpressure retry, a rate-limited one is not
+                if (response.statusCode() == 503) {
+                    node.markUnhealthy();
+                }
+                throw error;
+            }
+            if (response.statusCode() < 500) {
+                node.markHealthy();
+                throw error;
+            }
+            node.markUnhealthy();
+            lastError = error;
+        }
+
+        throw lastError;
+    }
+
+    /**
+     * Releases the pooled connections and the selector thread. Requests already sent run to completion, and a task still
+     * holding this client after its eviction from {@link TypesenseConnections} transparently opens new connections.
+     */
+    @Override
+    public synchronized void close() {
+        if (httpClient != null) {
+            // shutdown rather than close, which would block until every streamed response is fully read
+            httpClient.shutdown();
+            httpClient = null;
+        }
+    }
+
+    private synchronized HttpClient httpClient() {
+        if (httpClient == null) {
+            httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectionTimeout)
+                .build();
+        }
+        return httpClient;
+    }
+
+    private HttpRequest request(NodeState node, String method, String path, Map<String, String> query,
+        String contentType, HttpRequest.BodyPublisher body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(node.node.uri(), path, query))
+            .header(API_KEY_HEADER, apiKey)
+            .header("Content-Type", contentType)
+            .method(method, body);
+
+        if (readTimeout != null) {
+            builder.timeout(readTimeout);
+        }
+        return builder.build();
+    }
+
+    private NodeState selectNode() {
+        long now = System.nanoTime();
+        if (nearestNode != null && nearestNode.isAvailable(now)) {
+            return nearestNode;
+        }
+
+        for (int i = 0; i < nodes.size(); i++) {
+            NodeState candidate = nodes.get(Math.floorMod(nextNode.getAndIncrement(), nodes.size()));
+            if (candidate.isAvailable(now)) {
+                return candidate;
+            }
+        }
+
+        // every node failed recently: keep rotating rather than giving up
+        return nodes.get(Math.floorMod(nextNode.getAndIncrement(), nodes.size()));
+    }
+
+    private static URI uri(URI baseUri, String path, Map<String, String> query) {
+        if (query == null || query.isEmpty()) {
+            return baseUri.resolve(path);
+        }
+
+        return baseUri.resolve(path + "?" + query.entrySet().stream()
+            .map(entry -> encode(entry.getKey()) + "=" + encode(entry.getValue()))
+            .collect(Collectors.joining("&")));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Percent-encodes a path segment. Form encoding turns spaces into {@code +}, which is a literal plus in a path, while
+     * a literal plus is already escaped as {@code %2B}.
+     */
+    private static String encodePathSegment(String value) {
+        return encode(value).replace("+", "%20");
+    }
+
+    private final class NodeState {
+        private final TypesenseNode node;
+        private volatile boolean healthy = true;
+        private volatile long failedAt;
+
+        private NodeState(TypesenseNode node) {
+            this.node = node;
+        }
+
+        private boolean isAvailable(long now) {
+            return healthy || now - failedAt >= healthcheckIntervalNanos;
+        }
+
+        private void markHealthy() {
+            healthy = true;
+        }
+
+        private void markUnhealthy() {
+            failedAt = System.nanoTime();
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.kestra.plugin.typesense;
+
+import java.io.IOException;
+
+import lombok.Getter;
+
+/**
+ * Non-2xx answer of the Typesense HTTP API, keeping the status code so callers can tell overload errors apart.
+ */
+@Getter
+public class TypesenseHttpException extends IOException {
+    private final int status;
+
+    public TypesenseHttpException(int status, String message) {
+        super("Typesense request failed with status " + status + ": " + message);
+        this.status = status;
+    }
+}
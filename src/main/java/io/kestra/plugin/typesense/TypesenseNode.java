@@ -0,0 +1,40 @@
+package io.kestra.plugin.typesense;
+
+import java.net.URI;
+
+import org.typesense.resources.Node;
+
+/**
+ * Address of one Typesense node.
+ */
+record TypesenseNode(String protocol, String host, String port) {
+
+    /**
+     * Parses a node URL such as {@code https://typesense-1.internal:8108}; the port defaults to the protocol's default one.
+     */
+    static TypesenseNode parse(String url) {
+        URI uri = URI.create(url.trim());
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Invalid Typesense node '" + url + "', expected a URL like 'http://localhost:8108'");
+        }
+
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return new TypesenseNode(uri.getScheme().toLowerCase(), uri.getHost(), String.valueOf(port));
+    }
+
+    URI uri() {
+        return URI.create(protocol + "://" + host + ":" + port);
+    }
+
+    Node toNode() {
+        return new Node(protocol, host, port);
+    }
+
+    @Override
+    public String toString() {
+        return protocol + "://" + host + ":" + port;
+    }
+}
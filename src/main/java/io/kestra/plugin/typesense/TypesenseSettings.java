@@ -0,0 +1,67 @@
+package io.kestra.plugin.typesense;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Rendered connection settings of a Typesense task, used to build clients and as the key of {@link TypesenseConnections}.
+ */
+record TypesenseSettings(
+    List<TypesenseNode> nodes,
+    TypesenseNode nearestNode,
+    String apiKey,
+    Duration connectionTimeout,
+    Duration readTimeout,
+    Duration healthcheckInterval,
+    int numRetries,
+    Duration retryInterval
+) {
+    static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(2);
+    static final Duration DEFAULT_HEALTHCHECK_INTERVAL = Duration.ofSeconds(60);
+    static final int DEFAULT_NUM_RETRIES = 3;
+    static final Duration DEFAULT_RETRY_INTERVAL = Duration.ofMillis(100);
+
+    static TypesenseSettings of(TypesenseNode node, String apiKey) {
+        return new TypesenseSettings(
+            List.of(node),
+            null,
+            apiKey,
+            DEFAULT_CONNECTION_TIMEOUT,
+            null,
+            DEFAULT_HEALTHCHECK_INTERVAL,
+            DEFAULT_NUM_RETRIES,
+            DEFAULT_RETRY_INTERVAL
+        );
+    }
+
+    /**
+     * Returns the same settings with the API key replaced by its SHA-256 digest, so the cache key can be
+     * compared and hashed without exposing the secret. The cached connections still keep the key to authenticate their requests.
+     */
+    TypesenseSettings cacheKey() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return new TypesenseSettings(
+                nodes,
+                nearestNode,
+                HexFormat.of().formatHex(digest),
+                connectionTimeout,
+                readTimeout,
+                healthcheckInterval,
+                numRetries,
+                retryInterval
+            );
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return nearestNode == null ? nodes.toString() : nearestNode + " " + nodes;
+    }
+}
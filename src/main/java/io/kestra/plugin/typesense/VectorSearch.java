@@ -0,0 +1,439 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Find the nearest documents of one or many query vectors",
+    description = "Sends `vector_query` searches on a `float[]` field, packed into `multi_search` requests, for either one `vector` or an " +
+        "Amazon ION file of query rows. Each row holds a `vector`, and optionally an `id` echoed in the results and a `query` text for " +
+        "hybrid keyword and vector ranking. The results are written as compact rows with the query id and the nearest document ids and " +
+        "distances only, so millions of vectors can be scored in a batch job."
+)
+@Plugin(
+    examples = {
+        @io.kestra.core.models.annotations.Example(
+            title = "Nightly recommendations for every product embedding",
+            full = true,
+            code = {
+                """
+                    id: typesense_vector_search
+                    namespace: company.team
+
+                    tasks:
+                      - id: vector_search
+                        type: io.kestra.plugin.typesense.VectorSearch
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Products
+                        vectorField: embedding
+                        from: kestra://data/product_embeddings.ion
+                        k: 20
+                        distanceThreshold: 0.4
+                        batchSize: 50
+                        concurrency: 4
+                    """
+            }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Hybrid keyword and vector search for one query",
+            full = true,
+            code = {
+                """
+                    id: typesense_hybrid_search
+                    namespace: company.team
+
+                    tasks:
+                      - id: hybrid_search
+                        type: io.kestra.plugin.typesense.VectorSearch
+                        apiKey: "{{ secret('TYPESENSE_API_KEY') }}"
+                        port: 8108
+                        host: localhost
+                        collection: Products
+                        vectorField: embedding
+                        vector: [0.12, -0.53, 0.91]
+                        query: running shoes
+                        queryBy: title,description
+                        alpha: 0.7
+                    """
+            }
+        )
+    },
+    metrics = {
+        @Metric(name = "requests.count", description = "Number of multi_search requests", type = Counter.TYPE),
+        @Metric(name = "queries", description = "Number of query vectors", type = Counter.TYPE),
+        @Metric(name = "multi_search.duration", description = "Total time spent in multi_search requests", type = Timer.TYPE),
+        @Metric(name = "multi_search.duration.p50", description = "Median multi_search request latency", type = Timer.TYPE),
+        @Metric(name = "multi_search.duration.p99", description = "99th percentile multi_search request latency", type = Timer.TYPE),
+        @Metric(name = "multi_search.duration.max", description = "Slowest multi_search request", type = Timer.TYPE),
+        @Metric(name = "backpressure.retries", description = "Number of backoffs after a 429 or 503 answer", type = Counter.TYPE),
+        @Metric(name = "backpressure.paused", description = "Time requests were paused waiting for an overloaded node", type = Timer.TYPE),
+    }
+)
+public class VectorSearch extends AbstractTypesenseTask implements RunnableTask<VectorSearch.Output> {
+
+    @Schema(
+        title = "Vector field",
+        description = "`float[]` field of the collection, declared with `num_dim`, the query vectors are compared to."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> vectorField;
+
+    @Schema(
+        title = "Query vector",
+        description = "Single query vector, with as many dimensions as `vectorField`. Exactly one of `vector` and `from` must be set."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<Double>> vector;
+
+    @Schema(
+        title = "Query vectors file URI",
+        description = "kestra:// or other storage URI pointing to an Amazon ION file with one row per query: a `vector` array, and " +
+            "optionally an `id` copied to the result row and a `query` text overriding `query`. Rows without `id` are numbered from 0."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> from;
+
+    @Schema(
+        title = "Nearest neighbors",
+        description = "Number of nearest documents returned per query vector. Default 10, at most 250."
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    private Property<Integer> k = Property.ofValue(10);
+
+    @Schema(
+        title = "Distance threshold",
+        description = "Optional maximum vector distance of the returned documents."
+    )
+    @PluginProperty(group = "processing")
+    private Property<Double> distanceThreshold;
+
+    @Schema(
+        title = "Hybrid search query",
+        description = "Optional keyword query ranked together with the vector: when set with `queryBy`, Typesense fuses the keyword and " +
+            "vector ranks. Default `*`, pure nearest neighbor search."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> query;
+
+    @Schema(
+        title = "Hybrid search fields",
+        description = "Comma-separated fields the hybrid `query` is searched in."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> queryBy;
+
+    @Schema(
+        title = "Hybrid vector weight",
+        description = "Optional weight of the vector rank in hybrid search, between 0 and 1; Typesense defaults to 0.3."
+    )
+    @PluginProperty(group = "processing")
+    private Property<Double> alpha;
+
+    @Schema(
+        title = "Filter expression",
+        description = "Optional `filter_by` clause restricting the candidate documents."
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> filter;
+
+    @Schema(
+        title = "Queries per request",
+        description = "Number of query vectors packed into one `multi_search` request. Default 50, the Typesense default `limit_multi_searches`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> batchSize = Property.ofValue(50);
+
+    @Schema(
+        title = "Concurrent requests",
+        description = "Number of `multi_search` requests kept in flight at once. Default 4; results are still written in input order."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        List<Double> renderedVector = runContext.render(vector).asList(Double.class);
+        String renderedFrom = runContext.render(from).as(String.class).orElse(null);
+        if (renderedVector.isEmpty() == (renderedFrom == null)) {
+            throw new IllegalArgumentException("Exactly one of `vector` and `from` must be set");
+        }
+
+        Defaults defaults = new Defaults(
+            renderCollection(runContext),
+            runContext.render(vectorField).as(String.class).orElseThrow(),
+            Math.min(runContext.render(k).as(Integer.class).orElse(10), Search.MAX_PER_PAGE),
+            runContext.render(distanceThreshold).as(Double.class).orElse(null),
+            runContext.render(query).as(String.class).orElse("*"),
+            runContext.render(queryBy).as(String.class).orElse(null),
+            runContext.render(alpha).as(Double.class).orElse(null),
+            runContext.render(filter).as(String.class).orElse(null)
+        );
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        try (
+            InputStream inputStream = renderedFrom == null ? null
+                : new BufferedInputStream(runContext.storage().getFile(new URI(renderedFrom)), FileSerde.BUFFER_SIZE);
+            var output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)
+        ) {
+            MultiSearchBatches<QueryVector> batches = new MultiSearchBatches<>(
+                getHttpClient(runContext),
+                renderBackpressure(runContext),
+                queryVector -> searchBody(queryVector, defaults),
+                VectorSearch::row
+            );
+            Flux<QueryVector> queries = inputStream == null
+                ? Flux.just(new QueryVector(0L, checkFinite(toFloats(renderedVector), 0L), null))
+                : readQueries(inputStream);
+            long count = batches.write(
+                queries,
+                runContext.render(batchSize).as(Integer.class).orElse(50),
+                runContext.render(concurrency).as(Integer.class).orElse(4),
+                output
+            );
+            output.flush();
+
+            batches.report(runContext, count);
+            runContext.logger().info("Ran {} vector queries in {} multi_search requests", count, batches.requestCount());
+
+            return Output.builder()
+                .uri(runContext.storage().putFile(tempFile))
+                .size(count)
+                .build();
+        }
+    }
+
+    /**
+     * Keeps the id and vector distance of each hit.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> row(QueryVector queryVector, Map<String, Object> result) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("queryId", queryVector.id());
+        if (result.get("error") != null) {
+            row.put("error", result.get("error"));
+        }
+
+        List<Map<String, Object>> hits = new ArrayList<>();
+        for (Object hit : (List<Object>) result.getOrDefault("hits", List.of())) {
+            Map<String, Object> hitMap = (Map<String, Object>) hit;
+            Map<String, Object> compact = new LinkedHashMap<>();
+            compact.put("id", ((Map<String, Object>) hitMap.getOrDefault("document", Map.of())).get("id"));
+            compact.put("distance", hitMap.get("vector_distance"));
+            hits.add(compact);
+        }
+        row.put("hits", hits);
+        return row;
+    }
+
+    private static Map<String, Object> searchBody(QueryVector queryVector, Defaults defaults) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("collection", defaults.collection());
+        body.put("q", queryVector.query() == null ? defaults.query() : queryVector.query());
+        if (defaults.queryBy() != null) {
+            body.put("query_by", defaults.queryBy());
+        }
+        body.put("vector_query", vectorQuery(queryVector.vector(), defaults));
+        if (defaults.filter() != null) {
+            body.put("filter_by", defaults.filter());
+        }
+        body.put("include_fields", "id");
+        body.put("per_page", defaults.k());
+        return body;
+    }
+
+    /**
+     * Formats {@code field:([v1,v2,...], k:10, distance_threshold:0.4, alpha:0.3)}, with the shortest float digits written
+     * as plain decimals.
+     */
+    private static String vectorQuery(float[] vector, Defaults defaults) {
+        StringBuilder builder = new StringBuilder(defaults.vectorField().length() + vector.length * 12 + 64)
+            .append(defaults.vectorField())
+            .append(":([");
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            appendPlain(builder, Float.toString(vector[i]));
+        }
+        builder.append("], k:").append(defaults.k());
+        if (defaults.distanceThreshold() != null) {
+            appendPlain(builder.append(", distance_threshold:"), Double.toString(defaults.distanceThreshold()));
+        }
+        if (defaults.alpha() != null) {
+            appendPlain(builder.append(", alpha:"), Double.toString(defaults.alpha()));
+        }
+        return builder.append(')').toString();
+    }
+
+    /**
+     * Appends a {@code Float.toString} or {@code Double.toString} value, rewriting the scientific notation they use below
+     * 10^-3 and from 10^7, such as {@code 1.0E-5}, as a plain decimal the vector query parser accepts.
+     */
+    static StringBuilder appendPlain(StringBuilder builder, String value) {
+        if (value.indexOf('E') < 0) {
+            return builder.append(value);
+        }
+        return builder.append(new BigDecimal(value).stripTrailingZeros().toPlainString());
+    }
+
+    /**
+     * NaN and infinite components have no decimal form and no meaningful distance, so they fail the run before any request.
+     */
+    private static float[] checkFinite(float[] vector, Object queryId) {
+        for (float value : vector) {
+            if (!Float.isFinite(value)) {
+                throw new IllegalArgumentException("The vector of the query " + queryId + " has a non-finite component " + value);
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Reads the query rows token by token, decoding each vector straight into a {@code float[]}.
+     */
+    private static Flux<QueryVector> readQueries(InputStream inputStream) {
+        AtomicLong index = new AtomicLong();
+        return Flux.generate(
+            () -> JacksonMapper.ofIon().getFactory().createParser(inputStream),
+            (parser, sink) -> {
+                try {
+                    if (parser.nextToken() == null) {
+                        sink.complete();
+                    } else {
+                        sink.next(readQuery(parser, index.getAndIncrement()));
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    sink.error(e);
+                }
+                return parser;
+            },
+            parser -> {
+                try {
+                    parser.close();
+                } catch (IOException ignored) {
+                    // the input stream is closed by the caller
+                }
+            }
+        );
+    }
+
+    private static QueryVector readQuery(JsonParser parser, long index) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Query row " + index + " is not an object");
+        }
+
+        Object id = index;
+        float[] queryVector = null;
+        String text = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "id" -> id = value.isNumeric() ? parser.getNumberValue() : parser.getText();
+                case "query" -> text = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                case "vector" -> queryVector = readVector(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (queryVector == null) {
+            throw new IllegalArgumentException("Query row " + index + " has no `vector`");
+        }
+        return new QueryVector(id, checkFinite(queryVector, id), text);
+    }
+
+    private static float[] readVector(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+
+        float[] values = new float[256];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parser.getFloatValue();
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    private static float[] toFloats(List<Double> values) {
+        float[] floats = new float[values.size()];
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = values.get(i).floatValue();
+        }
+        return floats;
+    }
+
+    private record QueryVector(Object id, float[] vector, String query) {
+    }
+
+    private record Defaults(String collection, String vectorField, int k, Double distanceThreshold, String query, String queryBy,
+                    Double alpha, String filter) {
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+
+        @Schema(
+            title = "Results URI",
+            description = "Storage URI of the Amazon ION file with one row per query vector: `queryId` and `hits`, the nearest " +
+                "documents as `id` and `distance`, plus `error` when Typesense rejected the query."
+        )
+        private final URI uri;
+
+        @Schema(title = "Query count", description = "Number of query vectors searched.")
+        private final Long size;
+    }
+
+}
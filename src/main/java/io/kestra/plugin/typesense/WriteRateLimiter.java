@@ -0,0 +1,116 @@
+package io.kestra.plugin.typesense;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets capping the documents and bytes per second sent by bulk imports, so background indexing runs at a
+ * predictable rate and leaves room for live searches on the same nodes.
+ * <p>
+ * Each bucket holds at most one second of tokens. A request larger than the available tokens is let through and puts
+ * the bucket in debt, so the following requests wait until it is paid back; this keeps the average rate exact without
+ * splitting chunks. Limiters can be shared by the task runs of a worker targeting the same cluster with the same rates;
+ * shared limiters follow the {@link TypesenseConnections} policy, dropped after {@link TypesenseConnections#IDLE_TIMEOUT}
+ * without use and capped to {@link TypesenseConnections#MAX_ENTRIES}.
+ */
+final class WriteRateLimiter {
+    private static final Map<Key, WriteRateLimiter> SHARED = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Bucket documents;
+    private final Bucket bytes;
+    private volatile long lastAccess = System.nanoTime();
+
+    private WriteRateLimiter(Long documentsPerSecond, Long bytesPerSecond) {
+        this.documents = documentsPerSecond == null ? null : new Bucket(documentsPerSecond);
+        this.bytes = bytesPerSecond == null ? null : new Bucket(bytesPerSecond);
+    }
+
+    /**
+     * Returns the limiter for these rates, or null when no rate is set.
+     */
+    static WriteRateLimiter of(TypesenseSettings settings, Long documentsPerSecond, Long bytesPerSecond, boolean shared) {
+        if (documentsPerSecond == null && bytesPerSecond == null) {
+            return null;
+        }
+        if (!shared) {
+            return new WriteRateLimiter(documentsPerSecond, bytesPerSecond);
+        }
+
+        Key key = new Key(settings.cacheKey(), documentsPerSecond, bytesPerSecond);
+        long now = System.nanoTime();
+        synchronized (SHARED) {
+            // a limiter still acquired by a running import is not idle, even if no new run fetched it
+            SHARED.values().removeIf(limiter -> now - limiter.lastAccess > TypesenseConnections.IDLE_TIMEOUT.toNanos());
+
+            WriteRateLimiter limiter = SHARED.get(key);
+            if (limiter == null) {
+                limiter = new WriteRateLimiter(documentsPerSecond, bytesPerSecond);
+                SHARED.put(key, limiter);
+
+                if (SHARED.size() > TypesenseConnections.MAX_ENTRIES) {
+                    Iterator<WriteRateLimiter> eldest = SHARED.values().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+
+            limiter.lastAccess = now;
+            return limiter;
+        }
+    }
+
+    static int sharedSize() {
+        synchronized (SHARED) {
+            return SHARED.size();
+        }
+    }
+
+    /**
+     * Blocks until the request may be sent.
+     *
+     * @return the time waited, in nanoseconds
+     */
+    long acquire(long documentCount, long byteCount) throws InterruptedException {
+        lastAccess = System.nanoTime();
+        long wait = Math.max(
+            documents == null ? 0 : documents.reserve(documentCount),
+            bytes == null ? 0 : bytes.reserve(byteCount)
+        );
+        if (wait > 0) {
+            Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+        }
+        return wait;
+    }
+
+    private static final class Bucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long last = System.nanoTime();
+
+        private Bucket(long perSecond) {
+            if (perSecond <= 0) {
+                throw new IllegalArgumentException("Write rate limits must be positive, got " + perSecond);
+            }
+            this.tokensPerNano = perSecond / 1e9;
+            this.capacity = perSecond;
+            this.tokens = perSecond;
+        }
+
+        /**
+         * Takes the tokens, going into debt when needed, and returns how long the caller must wait for the debt to be
+         * paid back.
+         */
+        synchronized long reserve(long permits) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - last) * tokensPerNano);
+            last = now;
+            tokens -= permits;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+    }
+
+    private record Key(TypesenseSettings settings, Long documentsPerSecond, Long bytesPerSecond) {
+    }
+}
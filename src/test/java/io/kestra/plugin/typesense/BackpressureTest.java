@@ -0,0 +1,74 @@
+package io.kestra.plugin.typesense;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BackpressureTest {
+
+    @Test
+    void should_retry_overloaded_calls_after_a_backoff() throws Exception {
+        Backpressure backpressure = new Backpressure(3, Duration.ofMillis(20), Duration.ofMillis(100));
+        AtomicInteger calls = new AtomicInteger();
+
+        long start = System.nanoTime();
+        String result = backpressure.call(() -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new TypesenseHttpException(calls.get() == 1 ? 503 : 429, "Not Ready or Lagging");
+            }
+            return "ok";
+        });
+
+        assertThat(result, is("ok"));
+        assertThat(calls.get(), is(3));
+        // equal jitter waits at least half of 20 ms then half of 40 ms
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), greaterThanOrEqualTo(30L));
+    }
+
+    @Test
+    void should_fail_once_retries_are_exhausted() {
+        Backpressure backpressure = new Backpressure(2, Duration.ofMillis(1), Duration.ofMillis(5));
+        AtomicInteger calls = new AtomicInteger();
+
+        TypesenseHttpException e = assertThrows(TypesenseHttpException.class, () -> backpressure.call(() -> {
+            calls.incrementAndGet();
+            throw new TypesenseHttpException(503, "Not Ready or Lagging");
+        }));
+
+        assertThat(e.getStatus(), is(503));
+        assertThat(calls.get(), is(3));
+    }
+
+    @Test
+    void should_not_retry_other_errors() {
+        Backpressure backpressure = new Backpressure(5, Duration.ofMillis(1), Duration.ofMillis(5));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(TypesenseHttpException.class, () -> backpressure.call(() -> {
+            calls.incrementAndGet();
+            throw new TypesenseHttpException(400, "Bad Request");
+        }));
+
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    void should_back_off_single_requests_without_opening_the_circuit() throws Exception {
+        Backpressure backpressure = new Backpressure(5, Duration.ofMillis(100), Duration.ofMillis(400));
+
+        assertThat(backpressure.backoffNanos(0), lessThanOrEqualTo(Duration.ofMillis(100).toNanos()));
+        assertThat(backpressure.backoffNanos(2), greaterThanOrEqualTo(Duration.ofMillis(200).toNanos()));
+        assertThat(backpressure.backoffNanos(10), lessThanOrEqualTo(Duration.ofMillis(400).toNanos()));
+
+        long start = System.nanoTime();
+        backpressure.awaitClosed();
+        assertThat(System.nanoTime() - start < Duration.ofMillis(50).toNanos(), is(true));
+    }
+}
@@ -0,0 +1,81 @@
+package io.kestra.plugin.typesense;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.typesense.model.SearchParameters;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.typesense.typesense.TypesenseContainer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * This test will only test the main task, this allows you to send any input parameters to your task
+ * and test the returning behaviour easily.
+ */
+@KestraTest
+class BulkDeleteTest extends TypesenseContainer {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void should_delete_documents_by_ids() throws Exception {
+        insertDocument(Map.of("id", "fr", "countryName", "France", "capital", "Paris", "gdp", 5));
+        insertDocument(Map.of("id", "de", "countryName", "Germany", "capital", "Berlin", "gdp", 25));
+        insertDocument(Map.of("id", "uk", "countryName", "England", "capital", "London", "gdp", 200));
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        BulkDelete task = BulkDelete.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .documentIds(Property.ofValue(List.of("fr", "de", "jp")))
+            .idsPerRequest(Property.ofValue(2))
+            .build();
+
+        BulkDelete.Output output = task.run(runContext);
+        assertThat(output.getDeleted(), is(2L));
+        assertThat(remaining(), is(1L));
+
+        assertThat(runContext.metrics().get(0).getName(), is("requests.count"));
+        assertThat(runContext.metrics().get(0).getValue(), is(2D));
+    }
+
+    @Test
+    void should_delete_documents_by_filter() throws Exception {
+        insertDocument(buildDocument("France", "Paris", 5));
+        insertDocument(buildDocument("Germany", "Berlin", 25));
+        insertDocument(buildDocument("England", "London", 200));
+
+        BulkDelete task = BulkDelete.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .filter(Property.ofValue("gdp:<100"))
+            .batchSize(Property.ofValue(1))
+            .build();
+
+        BulkDelete.Output output = task.run(runContextFactory.of(Map.of()));
+        assertThat(output.getDeleted(), is(2L));
+        assertThat(remaining(), is(1L));
+    }
+
+    private long remaining() throws Exception {
+        return client.collections(COLLECTION).documents()
+            .search(new SearchParameters().q("*"))
+            .getFound();
+    }
+
+}
@@ -0,0 +1,91 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedInputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.StorageInterface;
+import io.kestra.core.tenant.TenantService;
+import io.kestra.plugin.typesense.typesense.TypesenseContainer;
+
+import jakarta.inject.Inject;
+import reactor.core.publisher.Flux;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This test will only test the main task, this allows you to send any input parameters to your task
+ * and test the returning behaviour easily.
+ */
+@KestraTest
+class BulkGetTest extends TypesenseContainer {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+    @Inject
+    private StorageInterface storageInterface;
+
+    @Test
+    void should_get_documents_by_ids() throws Exception {
+        insertDocument(Map.of("id", "fr", "countryName", "France", "capital", "Paris", "gdp", 5));
+        insertDocument(Map.of("id", "de", "countryName", "Germany", "capital", "Berlin", "gdp", 25));
+        insertDocument(Map.of("id", "uk", "countryName", "England", "capital", "London", "gdp", 200));
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        BulkGet task = BulkGet.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .documentIds(Property.ofValue(List.of("fr", "de", "jp")))
+            .idsPerRequest(Property.ofValue(2))
+            .build();
+
+        BulkGet.Output output = task.run(runContext);
+        assertThat(output.getFound(), is(2L));
+        assertThat(output.getMissing(), is(1L));
+
+        List<Object> documents = read(output.getUri());
+        assertThat(
+            documents.stream().map(document -> ((Map<String, Object>) document).get("countryName")).toList(),
+            containsInAnyOrder("France", "Germany")
+        );
+        assertThat(read(output.getMissingUri()), containsInAnyOrder("jp"));
+
+        assertThat(runContext.metrics().get(0).getName(), is("requests.count"));
+        assertThat(runContext.metrics().get(0).getValue(), is(2D));
+    }
+
+    @Test
+    void should_measure_ids_url_encoded() {
+        // "`é`," is 15 characters once URL-encoded
+        assertThat(BulkGet.chunks(Flux.just("é", "é"), 250, 20).collectList().block(), is(List.of(List.of("é"), List.of("é"))));
+        assertThat(BulkGet.chunks(Flux.just("é", "é"), 250, 30).collectList().block(), is(List.of(List.of("é", "é"))));
+    }
+
+    @Test
+    void should_reject_ids_with_backtick() {
+        assertThat(BulkGet.idFilter(List.of("a,b", "c")), is("id:[`a,b`,`c`]"));
+        assertThrows(IllegalArgumentException.class, () -> BulkGet.idFilter(List.of("a`b")));
+    }
+
+    private List<Object> read(URI uri) throws Exception {
+        List<Object> rows = new ArrayList<>();
+        FileSerde.read(new BufferedInputStream(storageInterface.get(TenantService.MAIN_TENANT, null, uri)), rows::add);
+        return rows;
+    }
+
+}
@@ -1,29 +1,45 @@
 package io.kestra.plugin.typesense;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
 import com.devskiller.friendly_id.FriendlyId;
+import com.sun.net.httpserver.HttpServer;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.core.storages.StorageInterface;
 import io.kestra.core.tenant.TenantService;
+import io.kestra.core.utils.TestsUtils;
 import io.kestra.plugin.typesense.BulkIndex.Output;
 import io.kestra.plugin.typesense.typesense.TypesenseContainer;
 
 import jakarta.inject.Inject;
+import reactor.core.publisher.Flux;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * This test will only test the main task, this allows you to send any input parameters to your task
@@ -76,11 +92,310 @@ class BulkIndexTest extends TypesenseContainer {
         assertThat(export, containsString("Germany"));
         assertThat(export, containsString("England"));
 
-        assertThat(runContext.metrics().size(), is(2));
-        assertThat(runContext.metrics().get(0).getName(), is("requests.count"));
-        assertThat(runContext.metrics().get(0).getValue(), is(2D));
-        assertThat(runContext.metrics().get(1).getName(), is("records"));
-        assertThat(runContext.metrics().get(1).getValue(), is(3D));
+        assertThat(metric(runContext, "requests.count"), is(2D));
+        assertThat(metric(runContext, "records"), is(3D));
+        assertThat(metric(runContext, "records.succeeded"), is(3D));
+        assertThat(metric(runContext, "records.failed"), is(0D));
+        assertThat(metric(runContext, "import.duration"), notNullValue());
+        assertThat((Double) metric(runContext, "bytes.sent"), greaterThan(0D));
+        assertThat(metric(runContext, "backpressure.retries"), is(0D));
+        assertThat(output.getFailedUri(), nullValue());
+    }
+
+    @Test
+    void should_bulk_index_documents_concurrently() throws Exception {
+        URI source = storageInterface.put(
+            TenantService.MAIN_TENANT,
+            null,
+            new URI("/" + FriendlyId.createFriendlyId() + ".ion"),
+            new FileInputStream(
+                new File(
+                    Objects.requireNonNull(
+                        BulkIndexTest.class.getClassLoader()
+                            .getResource("files/bulk_import.ion")
+                    )
+                        .toURI()
+                )
+            )
+        );
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        BulkIndex task = BulkIndex.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .from(Property.ofValue(source.toString()))
+            .chunk(Property.ofValue(1))
+            .concurrency(Property.ofValue(3))
+            .keepOrder(Property.ofValue(true))
+            .build();
+
+        Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+
+        String export = client.collections(COLLECTION).documents().export();
+
+        assertThat(export, containsString("France"));
+        assertThat(export, containsString("Germany"));
+        assertThat(export, containsString("England"));
+
+        assertThat(metric(runContext, "requests.count"), is(3D));
+    }
+
+    @Test
+    void should_bulk_index_documents_by_byte_budget() throws Exception {
+        URI source = storageInterface.put(
+            TenantService.MAIN_TENANT,
+            null,
+            new URI("/" + FriendlyId.createFriendlyId() + ".ion"),
+            new FileInputStream(
+                new File(
+                    Objects.requireNonNull(
+                        BulkIndexTest.class.getClassLoader()
+                            .getResource("files/bulk_import.ion")
+                    )
+                        .toURI()
+                )
+            )
+        );
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        BulkIndex task = BulkIndex.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .from(Property.ofValue(source.toString()))
+            .maxChunkBytes(Property.ofValue(60L))
+            .adaptiveChunk(Property.ofValue(true))
+            .build();
+
+        Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(output.getSucceeded(), is(3L));
+
+        assertThat(metric(runContext, "requests.count"), is(3D));
+    }
+
+    @Test
+    void should_bulk_index_json_lines_unchanged() throws Exception {
+        URI source = storageInterface.put(
+            TenantService.MAIN_TENANT,
+            null,
+            new URI("/" + FriendlyId.createFriendlyId() + ".jsonl"),
+            new FileInputStream(
+                new File(
+                    Objects.requireNonNull(
+                        BulkIndexTest.class.getClassLoader()
+                            .getResource("files/bulk_import.jsonl")
+                    )
+                        .toURI()
+                )
+            )
+        );
+
+        BulkIndex task = BulkIndex.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .from(Property.ofValue(source.toString()))
+            .format(Property.ofValue(BulkIndex.Format.JSONL))
+            .chunk(Property.ofValue(2))
+            .build();
+
+        Output output = task.run(runContextFactory.of(Map.of()));
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(output.getSucceeded(), is(3L));
+
+        String export = client.collections(COLLECTION).documents().export();
+        assertThat(export, containsString("France"));
+        assertThat(export, containsString("Germany"));
+        assertThat(export, containsString("England"));
+    }
+
+    @Test
+    void should_report_rejected_documents() throws Exception {
+        URI source = storageInterface.put(
+            TenantService.MAIN_TENANT,
+            null,
+            new URI("/" + FriendlyId.createFriendlyId() + ".ion"),
+            new FileInputStream(
+                new File(
+                    Objects.requireNonNull(
+                        BulkIndexTest.class.getClassLoader()
+                            .getResource("files/bulk_import_invalid.ion")
+                    )
+                        .toURI()
+                )
+            )
+        );
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        BulkIndex task = BulkIndex.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .from(Property.ofValue(source.toString()))
+            .build();
+
+        Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(output.getSucceeded(), is(2L));
+        assertThat(output.getFailed(), is(1L));
+
+        String export = client.collections(COLLECTION).documents().export();
+        assertThat(export, containsString("France"));
+        assertThat(export, not(containsString("Germany")));
+        assertThat(export, containsString("England"));
+
+        List<Map<String, Object>> failures = new ArrayList<>();
+        FileSerde.read(
+            new BufferedInputStream(storageInterface.get(TenantService.MAIN_TENANT, null, output.getFailedUri())),
+            r -> failures.add((Map<String, Object>) r)
+        );
+        assertThat(failures.size(), is(1));
+        assertThat(((Map<String, Object>) failures.getFirst().get("document")).get("countryName"), is("Germany"));
+        assertThat(failures.getFirst().get("error"), notNullValue());
+    }
+
+    @Test
+    void should_skip_unchanged_documents_and_delete_vanished_ones() throws Exception {
+        insertDocument(Map.of("id", "jp", "countryName", "Japan", "capital", "Tokyo", "gdp", 50));
+
+        BulkIndex first = deltaTask(List.of(
+            Map.of("id", "fr", "countryName", "France", "capital", "Paris", "gdp", 5),
+            Map.of("id", "de", "countryName", "Germany", "capital", "Berlin", "gdp", 25)
+        ));
+        Output output = first.run(TestsUtils.mockRunContext(runContextFactory, first, Map.of()));
+
+        assertThat(output.getSucceeded(), is(2L));
+        assertThat(output.getSkipped(), is(0L));
+        assertThat(output.getDeleted(), is(1L));
+
+        BulkIndex second = deltaTask(List.of(
+            Map.of("id", "fr", "countryName", "France", "capital", "Paris", "gdp", 5),
+            Map.of("id", "de", "countryName", "Germany", "capital", "Bonn", "gdp", 25)
+        ));
+        output = second.run(TestsUtils.mockRunContext(runContextFactory, second, Map.of()));
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getSucceeded(), is(1L));
+        assertThat(output.getSkipped(), is(1L));
+        assertThat(output.getDeleted(), is(0L));
+
+        String export = client.collections(COLLECTION).documents().export();
+        assertThat(export, containsString("Bonn"));
+        assertThat(export, not(containsString("Japan")));
+    }
+
+    @Test
+    void should_read_vector_fields_from_schema() {
+        Map<String, Object> schema = Map.of("fields", List.of(
+            Map.of("name", "title", "type", "string"),
+            Map.of("name", "embedding", "type", "float[]", "num_dim", 3),
+            Map.of("name", "scores", "type", "float[]")
+        ));
+
+        assertThat(BulkIndex.schemaVectorFields(schema), is(Set.of("embedding")));
+    }
+
+    @Test
+    void should_split_chunks_rejected_as_too_large() throws Exception {
+        AtomicInteger imports = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            imports.incrementAndGet();
+            long documents = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).lines()
+                .filter(line -> !line.isBlank())
+                .count();
+            // only single documents fit the request size limit of the stub
+            byte[] body = (documents > 1 ? "{\"message\": \"Request Entity Too Large\"}" : "{\"success\": true}")
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(documents > 1 ? 413 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            URI source = storageInterface.put(
+                TenantService.MAIN_TENANT,
+                null,
+                new URI("/" + FriendlyId.createFriendlyId() + ".ion"),
+                new FileInputStream(
+                    new File(
+                        Objects.requireNonNull(
+                            BulkIndexTest.class.getClassLoader()
+                                .getResource("files/bulk_import.ion")
+                        )
+                            .toURI()
+                    )
+                )
+            );
+
+            RunContext runContext = runContextFactory.of(Map.of());
+
+            BulkIndex task = BulkIndex.builder()
+                .apiKey(Property.ofValue(KEY))
+                .nodes(Property.ofValue(List.of("http://localhost:" + server.getAddress().getPort())))
+                .collection(Property.ofValue(COLLECTION))
+                .from(Property.ofValue(source.toString()))
+                .chunk(Property.ofValue(10))
+                .build();
+
+            Output output = task.run(runContext);
+
+            assertThat(output.getSucceeded(), is(3L));
+            assertThat(output.getFailed(), is(0L));
+            // 3 documents rejected, halved into 1 accepted and 2 rejected, halved again into 2 accepted
+            assertThat(imports.get(), is(5));
+            assertThat(metric(runContext, "requests.failed"), is(2D));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static Object metric(RunContext runContext, String name) {
+        return runContext.metrics().stream()
+            .filter(metric -> metric.getName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No metric " + name))
+            .getValue();
+    }
+
+    private BulkIndex deltaTask(List<Map<String, Object>> documents) throws Exception {
+        File file = File.createTempFile("bulk_import", ".ion");
+        try (FileOutputStream output = new FileOutputStream(file)) {
+            FileSerde.writeAll(output, Flux.fromIterable(documents)).block();
+        }
+        URI source = storageInterface.put(
+            TenantService.MAIN_TENANT,
+            null,
+            new URI("/" + FriendlyId.createFriendlyId() + ".ion"),
+            new FileInputStream(file)
+        );
+
+        return BulkIndex.builder()
+            .id("bulk_index")
+            .type(BulkIndex.class.getName())
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .from(Property.ofValue(source.toString()))
+            .deltaSync(Property.ofValue(true))
+            .deleteMissing(Property.ofValue(true))
+            .build();
     }
 
 }
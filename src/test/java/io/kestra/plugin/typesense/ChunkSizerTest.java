@@ -0,0 +1,72 @@
+package io.kestra.plugin.typesense;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ChunkSizerTest {
+    private static final Duration TARGET = Duration.ofSeconds(2);
+    private static final Duration FAST = Duration.ofMillis(100);
+    private static final Duration SLOW = Duration.ofSeconds(5);
+
+    @Test
+    void should_keep_fixed_size_unless_adaptive() {
+        ChunkSizer sizer = new ChunkSizer(1000, null, false, TARGET);
+
+        sizer.onSuccess(FAST);
+        sizer.onSuccess(SLOW);
+        sizer.onOverload();
+
+        assertThat(sizer.documents(), is(1000));
+        assertThat(sizer.maxBytes(), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    void should_grow_by_a_tenth_of_the_initial_size() {
+        ChunkSizer sizer = new ChunkSizer(1000, null, true, TARGET);
+
+        sizer.onSuccess(FAST);
+        assertThat(sizer.documents(), is(1100));
+        sizer.onSuccess(FAST);
+        assertThat(sizer.documents(), is(1200));
+    }
+
+    @Test
+    void should_cap_growth_to_ten_times_the_initial_size() {
+        ChunkSizer sizer = new ChunkSizer(1000, null, true, TARGET);
+
+        for (int i = 0; i < 200; i++) {
+            sizer.onSuccess(FAST);
+        }
+
+        assertThat(sizer.documents(), is(10_000));
+    }
+
+    @Test
+    void should_halve_on_slow_imports_and_overload() {
+        ChunkSizer sizer = new ChunkSizer(1000, 1_000_000L, true, TARGET);
+
+        sizer.onSuccess(SLOW);
+        assertThat(sizer.documents(), is(500));
+        sizer.onOverload();
+        assertThat(sizer.documents(), is(250));
+        assertThat(sizer.maxBytes(), is(1_000_000L));
+    }
+
+    @Test
+    void should_never_shrink_below_one_document() {
+        ChunkSizer sizer = new ChunkSizer(5, null, true, TARGET);
+
+        for (int i = 0; i < 10; i++) {
+            sizer.onOverload();
+        }
+        assertThat(sizer.documents(), is(1));
+
+        // the step is at least one document for small initial sizes
+        sizer.onSuccess(FAST);
+        assertThat(sizer.documents(), is(2));
+    }
+}
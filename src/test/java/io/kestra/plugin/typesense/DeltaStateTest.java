@@ -0,0 +1,80 @@
+package io.kestra.plugin.typesense;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class DeltaStateTest {
+
+    @Test
+    void should_skip_documents_unchanged_since_previous_state() throws Exception {
+        DeltaState previous = DeltaState.empty();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(previous.hasChanged(document(i, "v1")), is(true));
+        }
+        previous.markFailed(document(7, "v1"));
+
+        DeltaState current = roundTrip(previous);
+        assertThat(current.hasChanged(document(1, "v1")), is(false));
+        assertThat(current.hasChanged(document(2, "v2")), is(true));
+        assertThat(current.hasChanged(document(7, "v1")), is(true));
+        assertThat(current.hasChanged(document(5000, "v1")), is(true));
+
+        assertThat(current.size(), is(4));
+        assertThat(current.contains("5000"), is(true));
+        assertThat(current.contains("3"), is(false));
+    }
+
+    @Test
+    void should_keep_last_content_of_repeated_ids() throws Exception {
+        DeltaState previous = DeltaState.empty();
+        for (int i = 0; i < 100; i++) {
+            previous.hasChanged(document(i % 10, "v" + i));
+        }
+
+        DeltaState current = roundTrip(previous);
+        for (int i = 0; i < 10; i++) {
+            assertThat(current.hasChanged(document(i, "v" + (90 + i))), is(false));
+        }
+    }
+
+    @Test
+    void should_count_documents_without_id() {
+        DeltaState state = DeltaState.empty();
+        assertThat(state.hasChanged(document(1, "v1")), is(true));
+        assertThat(state.hasChanged(bytes("{\"countryName\":\"France\"}")), is(true));
+
+        assertThat(state.untracked(), is(1L));
+        assertThat(state.size(), is(1));
+    }
+
+    @Test
+    void should_read_top_level_id() {
+        assertThat(DeltaState.id(bytes("{\"nested\":{\"id\":\"no\"},\"id\":\"yes\"}")), is("yes"));
+        assertThat(DeltaState.id(bytes("{\"id\":42}")), is("42"));
+        assertThat(DeltaState.id(bytes("{\"countryName\":\"France\"}")), nullValue());
+        assertThat(DeltaState.id(bytes("{\"countryName\":France}")), nullValue());
+        assertThat(DeltaState.id(bytes("not json")), nullValue());
+    }
+
+    private static DeltaState roundTrip(DeltaState state) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        state.write(output);
+        return DeltaState.read(new ByteArrayInputStream(output.toByteArray()));
+    }
+
+    private static byte[] document(int id, String version) {
+        return bytes("{\"id\":\"" + id + "\",\"version\":\"" + version + "\"}");
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
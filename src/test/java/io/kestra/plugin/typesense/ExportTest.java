@@ -0,0 +1,145 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.StorageInterface;
+import io.kestra.core.tenant.TenantService;
+import io.kestra.plugin.typesense.typesense.TypesenseContainer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * This test will only test the main task, this allows you to send any input parameters to your task
+ * and test the returning behaviour easily.
+ */
+@KestraTest
+class ExportTest extends TypesenseContainer {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+    @Inject
+    private StorageInterface storageInterface;
+
+    @Test
+    void should_export_filtered_documents() throws Exception {
+        insertDocument(buildDocument("France", "Paris", 5));
+        insertDocument(buildDocument("Germany", "Berlin", 25));
+        insertDocument(buildDocument("England", "London", 200));
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        Export task = Export.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .filter(Property.ofValue("gdp:<100"))
+            .excludeFields(Property.ofValue("capital"))
+            .build();
+
+        Export.Output output = task.run(runContext);
+        assertThat(output.getSize(), is(2L));
+
+        List<Map<String, Object>> documents = new ArrayList<>();
+        FileSerde.read(
+            new BufferedInputStream(storageInterface.get(TenantService.MAIN_TENANT, null, output.getUri())),
+            r -> documents.add((Map<String, Object>) r)
+        );
+        assertThat(documents.stream().map(document -> document.get("countryName")).toList(), containsInAnyOrder("France", "Germany"));
+        assertThat(documents.getFirst().get("capital"), nullValue());
+    }
+
+    @Test
+    void should_export_numeric_range_partitions() throws Exception {
+        insertDocument(buildDocument("France", "Paris", 5));
+        insertDocument(buildDocument("Germany", "Berlin", 25));
+        insertDocument(buildDocument("England", "London", 200));
+
+        Export task = Export.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .partitionField(Property.ofValue("gdp"))
+            .partitionCount(Property.ofValue(2))
+            .build();
+
+        Export.Output output = task.run(runContextFactory.of(Map.of()));
+        assertThat(output.getUri(), nullValue());
+        assertThat(output.getUris(), hasSize(2));
+        assertThat(output.getSizes(), is(List.of(2L, 1L)));
+        assertThat(output.getSize(), is(3L));
+    }
+
+    @Test
+    void should_export_filter_partitions() throws Exception {
+        insertDocument(buildDocument("France", "Paris", 5));
+        insertDocument(buildDocument("Germany", "Berlin", 25));
+        insertDocument(buildDocument("England", "London", 200));
+
+        Export task = Export.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .filter(Property.ofValue("gdp:>10"))
+            .partitions(Property.ofValue(List.of("countryName:=Germany", "countryName:=England", "countryName:=France")))
+            .build();
+
+        Export.Output output = task.run(runContextFactory.of(Map.of()));
+        assertThat(output.getSizes(), is(List.of(1L, 1L, 0L)));
+
+        List<Map<String, Object>> documents = new ArrayList<>();
+        FileSerde.read(
+            new BufferedInputStream(storageInterface.get(TenantService.MAIN_TENANT, null, output.getUris().get(1))),
+            r -> documents.add((Map<String, Object>) r)
+        );
+        assertThat(documents.getFirst().get("countryName"), is("England"));
+    }
+
+    @Test
+    void should_split_ranges() {
+        assertThat(Export.ranges("gdp", 5, 200, 2), is(List.of("gdp:>=5 && gdp:<=102", "gdp:>=103 && gdp:<=200")));
+        assertThat(Export.ranges("gdp", 7, 7, 4), is(List.of("gdp:>=7 && gdp:<=7")));
+        assertThat(Export.ranges("price", 0.5D, 2.5D, 2), is(List.of("price:>=0.5 && price:<1.5", "price:>=1.5 && price:<=2.5")));
+        assertThat(Export.ranges("price", 1.5D, 1.5D, 4), is(List.of("price:>=1.5 && price:<=1.5")));
+    }
+
+    @Test
+    void should_split_small_ranges_into_every_partition() {
+        assertThat(Export.ranges("gdp", 0, 9, 8), is(List.of(
+            "gdp:>=0 && gdp:<=0", "gdp:>=1 && gdp:<=1", "gdp:>=2 && gdp:<=2", "gdp:>=3 && gdp:<=4",
+            "gdp:>=5 && gdp:<=5", "gdp:>=6 && gdp:<=6", "gdp:>=7 && gdp:<=7", "gdp:>=8 && gdp:<=9"
+        )));
+        assertThat(Export.ranges("gdp", 0, 2, 8), is(List.of("gdp:>=0 && gdp:<=0", "gdp:>=1 && gdp:<=1", "gdp:>=2 && gdp:<=2")));
+    }
+
+    @Test
+    void should_split_extreme_ranges_without_overflow() {
+        assertThat(Export.ranges("id", Long.MIN_VALUE, Long.MAX_VALUE, 2), is(List.of(
+            "id:>=" + Long.MIN_VALUE + " && id:<=-1",
+            "id:>=0 && id:<=" + Long.MAX_VALUE
+        )));
+        assertThat(Export.ranges("id", Long.MAX_VALUE - 1, Long.MAX_VALUE, 4), is(List.of(
+            "id:>=" + (Long.MAX_VALUE - 1) + " && id:<=" + (Long.MAX_VALUE - 1),
+            "id:>=" + Long.MAX_VALUE + " && id:<=" + Long.MAX_VALUE
+        )));
+    }
+
+}
@@ -17,6 +17,7 @@ import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * This test will only test the main task, this allows you to send any input parameters to your task
@@ -57,4 +58,34 @@ class FacetSearchTest extends TypesenseContainer {
         assertThat(facet.get("field_name"), is("gdp"));
     }
 
+    @Test
+    void should_return_facet_counts_only() throws Exception {
+        insertDocument(buildDocument("France", "CapitalCity", 5));
+        insertDocument(buildDocument("Germany", "CapitalCity", 25));
+        insertDocument(buildDocument("England", "CapitalCity", 25));
+
+        FacetSearch task = FacetSearch.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .query(Property.ofValue("CapitalCity"))
+            .queryBy(Property.ofValue("capital"))
+            .facetBy(Property.ofValue("gdp"))
+            .facetOnly(Property.ofValue(true))
+            .maxFacetValues(Property.ofValue(1))
+            .build();
+
+        FacetSearch.Output runOutput = task.run(runContextFactory.of(Map.of()));
+        assertThat(runOutput.getUri(), nullValue());
+        assertThat(runOutput.getTotalHits(), is(3));
+        assertThat(runOutput.getFacets().size(), is(1));
+
+        FacetSearch.Facet facet = runOutput.getFacets().getFirst();
+        assertThat(facet.getField(), is("gdp"));
+        assertThat(facet.getCounts().size(), is(1));
+        assertThat(facet.getCounts().getFirst().getValue(), is("25"));
+        assertThat(facet.getCounts().getFirst().getCount(), is(2L));
+    }
+
 }
@@ -0,0 +1,150 @@
+package io.kestra.plugin.typesense;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import reactor.core.publisher.Flux;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+class IonJsonLinesTest {
+
+    @Test
+    void should_write_vector_fields_as_floats() throws Exception {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("id", "1");
+        first.put("embedding", List.of(0.1D, 0.2D, 1));
+        first.put("price", 0.1D);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("id", "2");
+        second.put("embedding", new ArrayList<>(Arrays.asList(1.5D, null)));
+        second.put("nested", Map.of("embedding", List.of(0.3D)));
+
+        List<String> lines = IonJsonLines.read(new ByteArrayInputStream(ion(first, second)), Set.of("embedding"))
+            .map(line -> new String(line, StandardCharsets.UTF_8))
+            .collectList().block();
+
+        assertThat(lines, contains(
+            "{\"id\":\"1\",\"embedding\":[0.1,0.2,1.0],\"price\":0.1}",
+            "{\"id\":\"2\",\"embedding\":[1.5,null],\"nested\":{\"embedding\":[0.3]}}"
+        ));
+    }
+
+    @Test
+    void should_keep_doubles_without_vector_fields() throws Exception {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("id", "1");
+        document.put("embedding", List.of(0.1D, 1.0D / 3));
+
+        List<String> lines = IonJsonLines.read(new ByteArrayInputStream(ion(document)))
+            .map(line -> new String(line, StandardCharsets.UTF_8))
+            .collectList().block();
+
+        assertThat(lines, contains("{\"id\":\"1\",\"embedding\":[0.1,0.3333333333333333]}"));
+    }
+
+    @Test
+    void should_transcode_nested_records() throws Exception {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("city", "Paris");
+        address.put("location", List.of(48.85D, 2.35D));
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("id", "1");
+        document.put("address", address);
+        document.put("tags", List.of(Map.of("name", "a"), Map.of("name", "b")));
+        document.put("count", 3);
+        document.put("active", true);
+
+        assertThat(lines(ion(document)), contains(
+            "{\"id\":\"1\",\"address\":{\"city\":\"Paris\",\"location\":[48.85,2.35]},\"tags\":[{\"name\":\"a\"},{\"name\":\"b\"}]," +
+                "\"count\":3,\"active\":true}"
+        ));
+    }
+
+    @Test
+    void should_transcode_ion_only_values() throws Exception {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("id", "1");
+        document.put("updated", Instant.parse("2024-01-02T03:04:05Z"));
+        document.put("price", new BigDecimal("12.50"));
+        document.put("payload", new byte[] {1, 2, 3});
+        document.put("missing", null);
+
+        JsonNode line = JacksonMapper.ofJson().readTree(lines(ion(document)).getFirst());
+        assertThat(line.get("updated").asText(), startsWith("2024-01-02T03:04:05"));
+        assertThat(line.get("price").decimalValue().compareTo(new BigDecimal("12.5")), is(0));
+        assertThat(line.get("payload").asText(), is(Base64.getEncoder().encodeToString(new byte[] {1, 2, 3})));
+        assertThat(line.get("missing").isNull(), is(true));
+    }
+
+    @Test
+    void should_transcode_one_line_per_record() throws Exception {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("id", "1");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("id", "2");
+
+        assertThat(lines(ion(first, second)), contains("{\"id\":\"1\"}", "{\"id\":\"2\"}"));
+        assertThat(lines(new byte[0]), hasSize(0));
+    }
+
+    @Test
+    void should_split_json_lines() {
+        String longLine = "{\"id\":\"" + "x".repeat(100_000) + "\"}";
+        String input = "{\"id\":\"1\"}\r\n\n  \n{\"id\":\"2\"}\n" + longLine + "\n{\"id\":\"3\"}";
+
+        List<String> lines = IonJsonLines.readJsonLines(new TrickleInputStream(input.getBytes(StandardCharsets.UTF_8)))
+            .map(line -> new String(line, StandardCharsets.UTF_8))
+            .collectList().block();
+
+        assertThat(lines, contains("{\"id\":\"1\"}", "{\"id\":\"2\"}", longLine, "{\"id\":\"3\"}"));
+    }
+
+    private static List<String> lines(byte[] ion) {
+        return IonJsonLines.read(new ByteArrayInputStream(ion))
+            .map(line -> new String(line, StandardCharsets.UTF_8))
+            .collectList().block();
+    }
+
+    @SafeVarargs
+    private static byte[] ion(Map<String, Object>... documents) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        FileSerde.writeAll(output, Flux.fromArray(documents)).block();
+        return output.toByteArray();
+    }
+
+    /**
+     * Returns at most 7 bytes per read, so lines span several reads of the splitter.
+     */
+    private static class TrickleInputStream extends ByteArrayInputStream {
+        TrickleInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) {
+            return super.read(buffer, offset, Math.min(length, 7));
+        }
+    }
+}
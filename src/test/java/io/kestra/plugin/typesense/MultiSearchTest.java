@@ -0,0 +1,96 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import com.devskiller.friendly_id.FriendlyId;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.StorageInterface;
+import io.kestra.core.tenant.TenantService;
+import io.kestra.plugin.typesense.typesense.TypesenseContainer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * This test will only test the main task, this allows you to send any input parameters to your task
+ * and test the returning behaviour easily.
+ */
+@KestraTest
+class MultiSearchTest extends TypesenseContainer {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+    @Inject
+    private StorageInterface storageInterface;
+
+    @Test
+    void should_run_batched_searches() throws Exception {
+        insertDocument(buildDocument("France", "Paris", 5));
+        insertDocument(buildDocument("Germany", "Berlin", 25));
+
+        URI source = storageInterface.put(
+            TenantService.MAIN_TENANT,
+            null,
+            new URI("/" + FriendlyId.createFriendlyId() + ".ion"),
+            new FileInputStream(
+                new File(
+                    Objects.requireNonNull(
+                        MultiSearchTest.class.getClassLoader()
+                            .getResource("files/multi_search.ion")
+                    )
+                        .toURI()
+                )
+            )
+        );
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        MultiSearch task = MultiSearch.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .from(Property.ofValue(source.toString()))
+            .queryBy(Property.ofValue("capital"))
+            .batchSize(Property.ofValue(2))
+            .build();
+
+        MultiSearch.Output output = task.run(runContext);
+        assertThat(output.getSize(), is(3L));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        FileSerde.read(
+            new BufferedInputStream(storageInterface.get(TenantService.MAIN_TENANT, null, output.getUri())),
+            r -> rows.add((Map<String, Object>) r)
+        );
+        assertThat(rows.size(), is(3));
+        assertThat(found(rows.get(0)), is(1));
+        assertThat(found(rows.get(1)), is(1));
+        assertThat(found(rows.get(2)), is(0));
+        assertThat(((Map<String, Object>) rows.get(1).get("query")).get("query"), is("Berlin"));
+
+        assertThat(runContext.metrics().get(0).getName(), is("requests.count"));
+        assertThat(runContext.metrics().get(0).getValue(), is(2D));
+    }
+
+    private static Integer found(Map<String, Object> row) {
+        return (Integer) ((Map<String, Object>) row.get("result")).get("found");
+    }
+
+}
@@ -0,0 +1,120 @@
+package io.kestra.plugin.typesense;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+import org.typesense.api.FieldTypes;
+import org.typesense.model.CollectionSchema;
+import org.typesense.model.Field;
+
+import com.devskiller.friendly_id.FriendlyId;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.storages.StorageInterface;
+import io.kestra.core.tenant.TenantService;
+import io.kestra.plugin.typesense.typesense.TypesenseContainer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This test will only test the main task, this allows you to send any input parameters to your task
+ * and test the returning behaviour easily.
+ */
+@KestraTest
+class ReindexTest extends TypesenseContainer {
+    private static final Map<String, Object> SCHEMA = Map.of(
+        "fields", List.of(
+            Map.of("name", "countryName", "type", "string"),
+            Map.of("name", "capital", "type", "string"),
+            Map.of("name", "gdp", "type", "int32")
+        ),
+        "default_sorting_field", "gdp"
+    );
+
+    @Inject
+    private RunContextFactory runContextFactory;
+    @Inject
+    StorageInterface storageInterface;
+
+    @Test
+    void should_swap_alias_and_drop_old_versions() throws Exception {
+        Reindex.Output first = task("Capitals", 1L).run(runContextFactory.of(Map.of()));
+        assertThat(first.getSize(), is(3L));
+        assertThat(first.getPreviousCollection(), nullValue());
+
+        Reindex.Output second = task("Capitals", 1L).run(runContextFactory.of(Map.of()));
+        assertThat(second.getPreviousCollection(), is(first.getCollection()));
+        assertThat(second.getDroppedCollections(), is(List.of(first.getCollection())));
+
+        assertThat(client.aliases("Capitals").retrieve().getCollectionName(), is(second.getCollection()));
+        assertThat(client.collections("Capitals").documents().export(), containsString("France"));
+    }
+
+    @Test
+    void should_not_drop_unrelated_collections() throws Exception {
+        client.collections().create(new CollectionSchema()
+            .name("Towns_2023")
+            .fields(List.of(new Field().name("countryName").type(FieldTypes.STRING)))
+        );
+
+        Reindex.Output first = task("Towns", 1L).run(runContextFactory.of(Map.of()));
+        assertThat(first.getDroppedCollections(), is(List.of()));
+
+        Reindex.Output second = task("Towns", 1L).run(runContextFactory.of(Map.of()));
+        assertThat(second.getDroppedCollections(), is(List.of(first.getCollection())));
+
+        assertThat(client.collections("Towns_2023").retrieve().getName(), is("Towns_2023"));
+    }
+
+    @Test
+    void should_keep_alias_when_checks_fail() throws Exception {
+        Reindex.Output current = task("Cities", 1L).run(runContextFactory.of(Map.of()));
+
+        Reindex invalid = task("Cities", 10L);
+        assertThrows(IllegalStateException.class, () -> invalid.run(runContextFactory.of(Map.of())));
+
+        assertThat(client.aliases("Cities").retrieve().getCollectionName(), is(current.getCollection()));
+    }
+
+    private Reindex task(String alias, Long minDocuments) throws Exception {
+        URI source = storageInterface.put(
+            TenantService.MAIN_TENANT,
+            null,
+            new URI("/" + FriendlyId.createFriendlyId() + ".ion"),
+            new FileInputStream(
+                new File(
+                    Objects.requireNonNull(
+                        ReindexTest.class.getClassLoader()
+                            .getResource("files/bulk_import.ion")
+                    )
+                        .toURI()
+                )
+            )
+        );
+
+        return Reindex.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(alias))
+            .from(Property.ofValue(source.toString()))
+            .schema(Property.ofValue(SCHEMA))
+            .minDocuments(Property.ofValue(minDocuments))
+            .retention(Property.ofValue(1))
+            .build();
+    }
+
+}
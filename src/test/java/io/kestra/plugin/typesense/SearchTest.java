@@ -1,5 +1,6 @@
 package io.kestra.plugin.typesense;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +18,7 @@ import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -114,4 +116,135 @@ class SearchTest extends TypesenseContainer {
         assertTrue(((List<Map>) result.get("hits")).isEmpty());
     }
 
+    @Test
+    void should_search_all_pages() throws Exception {
+        insertDocument(buildDocument("country1", "CapitalCity", 5));
+        insertDocument(buildDocument("country2", "CapitalCity", 25));
+        insertDocument(buildDocument("country3", "CapitalCity", 200));
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        Search task = Search.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .query(Property.ofValue("CapitalCity"))
+            .queryBy(Property.ofValue("capital"))
+            .sortBy(Property.ofValue("gdp:desc"))
+            .fetchAll(Property.ofValue(true))
+            .perPage(Property.ofValue(1))
+            .build();
+
+        Search.Output runOutput = task.run(runContext);
+        assertThat(runOutput.getTotalHits(), is(3));
+
+        List<Map<String, Object>> hits = getAllResults(runOutput, storageInterface);
+        assertThat(hits.size(), is(3));
+        assertThat(((Map<String, Object>) hits.get(0).get("document")).get("countryName"), Is.is("country3"));
+        assertThat(((Map<String, Object>) hits.get(2).get("document")).get("countryName"), Is.is("country1"));
+    }
+
+    @Test
+    void should_search_up_to_max_hits() throws Exception {
+        insertDocument(buildDocument("country1", "CapitalCity", 5));
+        insertDocument(buildDocument("country2", "CapitalCity", 25));
+        insertDocument(buildDocument("country3", "CapitalCity", 200));
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        Search task = Search.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .query(Property.ofValue("CapitalCity"))
+            .queryBy(Property.ofValue("capital"))
+            .maxHits(Property.ofValue(2))
+            .perPage(Property.ofValue(1))
+            .build();
+
+        Search.Output runOutput = task.run(runContext);
+        assertThat(runOutput.getTotalHits(), is(2));
+        assertThat(getAllResults(runOutput, storageInterface).size(), is(2));
+    }
+
+    @Test
+    void should_search_documents_only() throws Exception {
+        insertDocument(buildDocument("France", "Paris", 5));
+        insertDocument(buildDocument("Germany", "Berlin", 25));
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        Search task = Search.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .query(Property.ofValue("Paris"))
+            .queryBy(Property.ofValue("capital"))
+            .excludeFields(Property.ofValue("gdp"))
+            .disableHighlights(Property.ofValue(true))
+            .outputMode(Property.ofValue(Search.OutputMode.DOCUMENTS))
+            .build();
+
+        Search.Output runOutput = task.run(runContext);
+        assertThat(runOutput.getTotalHits(), is(1));
+
+        Map<String, Object> document = getResults(runOutput, storageInterface);
+        assertThat(document.get("countryName"), Is.is("France"));
+        assertThat(document.get("gdp"), nullValue());
+    }
+
+    @Test
+    void should_search_documents_without_highlights() throws Exception {
+        insertDocument(buildDocument("France", "Paris", 5));
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        Search task = Search.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .query(Property.ofValue("Paris"))
+            .queryBy(Property.ofValue("capital"))
+            .disableHighlights(Property.ofValue(true))
+            .build();
+
+        Search.Output runOutput = task.run(runContext);
+        assertThat(runOutput.getTotalHits(), is(1));
+
+        Map<String, Object> hit = ((List<Map<String, Object>>) getResults(runOutput, storageInterface).get("hits")).getFirst();
+        assertThat(((Map<String, Object>) hit.get("document")).get("capital"), Is.is("Paris"));
+        assertThat(hit.get("highlights"), nullValue());
+    }
+
+    @Test
+    void should_answer_repeated_search_from_worker_cache() throws Exception {
+        insertDocument(buildDocument("France", "CachedCity", 5));
+
+        Search task = Search.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .query(Property.ofValue("CachedCity"))
+            .queryBy(Property.ofValue("capital"))
+            .localCacheTtl(Property.ofValue(Duration.ofMinutes(1)))
+            .build();
+
+        RunContext firstRunContext = runContextFactory.of(Map.of());
+        assertThat(task.run(firstRunContext).getTotalHits(), is(1));
+        assertThat(firstRunContext.metrics().getFirst().getName(), is("cache.hits"));
+        assertThat(firstRunContext.metrics().getFirst().getValue(), is(0D));
+
+        insertDocument(buildDocument("Germany", "CachedCity", 25));
+
+        RunContext secondRunContext = runContextFactory.of(Map.of());
+        assertThat(task.run(secondRunContext).getTotalHits(), is(1));
+        assertThat(secondRunContext.metrics().getFirst().getName(), is("cache.hits"));
+        assertThat(secondRunContext.metrics().getFirst().getValue(), is(1D));
+    }
+
 }
@@ -0,0 +1,99 @@
+package io.kestra.plugin.typesense;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.typesense.typesense.TypesenseContainer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * This test will only test the main task, this allows you to send any input parameters to your task
+ * and test the returning behaviour easily.
+ */
+@KestraTest
+class TriggerTest extends TypesenseContainer {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void should_emit_documents_changed_since_watermark() throws Exception {
+        insertDocument(Map.of("id", "fr", "countryName", "France", "capital", "Paris", "gdp", 5));
+        insertDocument(Map.of("id", "de", "countryName", "Germany", "capital", "Berlin", "gdp", 25));
+
+        Trigger trigger = Trigger.builder()
+            .id("watch")
+            .type(Trigger.class.getName())
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .cursorField(Property.ofValue("gdp"))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        Optional<Execution> first = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(first.isPresent(), is(true));
+        assertThat(((Number) first.get().getTrigger().getVariables().get("size")).longValue(), is(2L));
+        assertThat(first.get().getTrigger().getVariables().get("watermark"), is("25"));
+
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        insertDocument(Map.of("id", "uk", "countryName", "England", "capital", "London", "gdp", 25));
+        insertDocument(Map.of("id", "it", "countryName", "Italy", "capital", "Rome", "gdp", 40));
+
+        Optional<Execution> second = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(second.isPresent(), is(true));
+        assertThat(((Number) second.get().getTrigger().getVariables().get("size")).longValue(), is(2L));
+        assertThat(second.get().getTrigger().getVariables().get("watermark"), is("40"));
+    }
+
+    @Test
+    void should_page_through_documents_sharing_a_cursor_value() throws Exception {
+        insertDocument(Map.of("id", "a", "countryName", "Austria", "capital", "Vienna", "gdp", 10));
+        insertDocument(Map.of("id", "b", "countryName", "Belgium", "capital", "Brussels", "gdp", 10));
+        insertDocument(Map.of("id", "c", "countryName", "Croatia", "capital", "Zagreb", "gdp", 10));
+        insertDocument(Map.of("id", "d", "countryName", "Denmark", "capital", "Copenhagen", "gdp", 20));
+        insertDocument(Map.of("id", "e", "countryName", "Estonia", "capital", "Tallinn", "gdp", 30));
+
+        Trigger trigger = Trigger.builder()
+            .id("watch_pages")
+            .type(Trigger.class.getName())
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(COLLECTION))
+            .cursorField(Property.ofValue("gdp"))
+            .maxRecords(Property.ofValue(2))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        long total = 0;
+        List<String> watermarks = new ArrayList<>();
+        Optional<Execution> execution;
+        while ((execution = trigger.evaluate(context.getKey(), context.getValue())).isPresent()) {
+            total += ((Number) execution.get().getTrigger().getVariables().get("size")).longValue();
+            watermarks.add((String) execution.get().getTrigger().getVariables().get("watermark"));
+        }
+
+        assertThat(total, is(5L));
+        assertThat(watermarks, is(List.of("10", "20", "30")));
+    }
+
+}
@@ -0,0 +1,44 @@
+package io.kestra.plugin.typesense;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class TypesenseConnectionsTest {
+
+    @Test
+    void should_reuse_connection_for_same_settings() {
+        TypesenseSettings settings = TypesenseSettings.of(new TypesenseNode("http", "localhost", "8108"), "test-key");
+
+        TypesenseConnection first = TypesenseConnections.get(settings);
+        TypesenseConnection second = TypesenseConnections.get(
+            TypesenseSettings.of(new TypesenseNode("http", "localhost", "8108"), "test-key")
+        );
+
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test
+    void should_not_share_connection_across_api_keys() {
+        TypesenseConnection first = TypesenseConnections.get(
+            TypesenseSettings.of(new TypesenseNode("http", "localhost", "8108"), "first-key")
+        );
+        TypesenseConnection second = TypesenseConnections.get(
+            TypesenseSettings.of(new TypesenseNode("http", "localhost", "8108"), "second-key")
+        );
+
+        assertThat(second, not(sameInstance(first)));
+    }
+
+    @Test
+    void should_cap_cache_size() {
+        for (int i = 0; i < TypesenseConnections.MAX_ENTRIES + 10; i++) {
+            TypesenseConnections.get(TypesenseSettings.of(new TypesenseNode("http", "host-" + i, "8108"), "test-key"));
+        }
+
+        assertThat(TypesenseConnections.size(), lessThanOrEqualTo(TypesenseConnections.MAX_ENTRIES));
+    }
+}
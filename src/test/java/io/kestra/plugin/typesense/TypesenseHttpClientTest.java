@@ -0,0 +1,176 @@
+package io.kestra.plugin.typesense;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Exercises node selection and failover against local stub HTTP servers, without a Typesense container.
+ */
+class TypesenseHttpClientTest {
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    @AfterEach
+    void stopServers() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void should_fail_over_to_next_node_on_server_error() throws Exception {
+        AtomicInteger failingCalls = new AtomicInteger();
+        TypesenseNode failing = stub(500, "Internal Server Error", failingCalls);
+        TypesenseNode healthy = stub(200, "ok", new AtomicInteger());
+
+        TypesenseHttpClient client = new TypesenseHttpClient(settings(List.of(failing, healthy), null));
+
+        assertThat(get(client), is("ok"));
+        assertThat(get(client), is("ok"));
+        // the failing node is skipped until the healthcheck interval elapses
+        assertThat(failingCalls.get(), is(1));
+    }
+
+    @Test
+    void should_leave_overload_answers_to_the_caller() throws Exception {
+        AtomicInteger laggingCalls = new AtomicInteger();
+        TypesenseNode lagging = stub(503, "Not Ready or Lagging", laggingCalls);
+        TypesenseNode healthy = stub(200, "ok", new AtomicInteger());
+
+        TypesenseHttpClient client = new TypesenseHttpClient(settings(List.of(lagging, healthy), null));
+
+        TypesenseHttpException exception = assertThrows(TypesenseHttpException.class, () -> get(client));
+        assertThat(exception.getStatus(), is(503));
+        assertThat(laggingCalls.get(), is(1));
+        // the backpressure retry goes to another node
+        assertThat(get(client), is("ok"));
+        assertThat(laggingCalls.get(), is(1));
+    }
+
+    @Test
+    void should_prefer_nearest_node() throws Exception {
+        AtomicInteger nodeCalls = new AtomicInteger();
+        TypesenseNode node = stub(200, "node", nodeCalls);
+        TypesenseNode nearest = stub(200, "nearest", new AtomicInteger());
+
+        TypesenseHttpClient client = new TypesenseHttpClient(settings(List.of(node), nearest));
+
+        assertThat(get(client), is("nearest"));
+        assertThat(nodeCalls.get(), is(0));
+    }
+
+    @Test
+    void should_not_retry_client_errors() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        TypesenseNode node = stub(404, "Not Found", calls);
+
+        TypesenseHttpClient client = new TypesenseHttpClient(settings(List.of(node), null));
+
+        TypesenseHttpException exception = assertThrows(TypesenseHttpException.class, () -> get(client));
+        assertThat(exception.getStatus(), is(404));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    void should_reconnect_after_close() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        TypesenseNode node = stub(200, "ok", calls);
+
+        TypesenseHttpClient client = new TypesenseHttpClient(settings(List.of(node), null));
+        assertThat(get(client), is("ok"));
+
+        // a task may still hold a client evicted from the connection cache
+        client.close();
+        assertThat(get(client), is("ok"));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    void should_encode_path_segments() {
+        assertThat(TypesenseHttpClient.collectionPath("my products", "/documents"), is("/collections/my%20products/documents"));
+        assertThat(TypesenseHttpClient.aliasPath("a+b/c"), is("/aliases/a%2Bb%2Fc"));
+    }
+
+    @Test
+    void should_bound_json_calls_by_read_timeout() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        servers.add(server);
+        TypesenseNode node = new TypesenseNode("http", "localhost", String.valueOf(server.getAddress().getPort()));
+
+        TypesenseHttpClient client = new TypesenseHttpClient(new TypesenseSettings(
+            List.of(node),
+            null,
+            "test-key",
+            Duration.ofSeconds(1),
+            Duration.ofMillis(200),
+            Duration.ofMinutes(1),
+            0,
+            Duration.ofMillis(10)
+        ));
+
+        long start = System.nanoTime();
+        assertThrows(HttpTimeoutException.class, () -> client.sendJson("GET", "/health", Map.of(), null, Map.class));
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), lessThan(4000L));
+    }
+
+    private static TypesenseSettings settings(List<TypesenseNode> nodes, TypesenseNode nearestNode) {
+        return new TypesenseSettings(
+            nodes,
+            nearestNode,
+            "test-key",
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(1),
+            Duration.ofMinutes(1),
+            2,
+            Duration.ofMillis(10)
+        );
+    }
+
+    private static String get(TypesenseHttpClient client) throws IOException, InterruptedException {
+        try (InputStream body = client.send("GET", "/health", Map.of(), HttpRequest.BodyPublishers.noBody())) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private TypesenseNode stub(int status, String body, AtomicInteger calls) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            calls.incrementAndGet();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+        servers.add(server);
+
+        return new TypesenseNode("http", "localhost", String.valueOf(server.getAddress().getPort()));
+    }
+}
@@ -0,0 +1,170 @@
+package io.kestra.plugin.typesense;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.typesense.api.FieldTypes;
+import org.typesense.api.exceptions.ObjectAlreadyExists;
+import org.typesense.model.CollectionSchema;
+import org.typesense.model.Field;
+
+import com.devskiller.friendly_id.FriendlyId;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.StorageInterface;
+import io.kestra.core.tenant.TenantService;
+import io.kestra.plugin.typesense.typesense.TypesenseContainer;
+
+import jakarta.inject.Inject;
+import reactor.core.publisher.Flux;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This test will only test the main task, this allows you to send any input parameters to your task
+ * and test the returning behaviour easily.
+ */
+@KestraTest
+class VectorSearchTest extends TypesenseContainer {
+    private static final String VECTORS = "Vectors";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+    @Inject
+    private StorageInterface storageInterface;
+
+    @Test
+    void should_find_nearest_documents_of_one_vector() throws Exception {
+        createVectors();
+
+        VectorSearch task = task()
+            .vector(Property.ofValue(List.of(1D, 0D, 0D)))
+            .k(Property.ofValue(2))
+            .build();
+
+        VectorSearch.Output output = task.run(runContextFactory.of(Map.of()));
+        assertThat(output.getSize(), is(1L));
+
+        List<Map<String, Object>> rows = read(output.getUri());
+        assertThat(rows.getFirst().get("queryId"), is(0));
+        List<Map<String, Object>> hits = (List<Map<String, Object>>) rows.getFirst().get("hits");
+        assertThat(hits, hasSize(2));
+        assertThat(hits.getFirst().get("id"), is("x"));
+        assertThat(((Number) hits.getFirst().get("distance")).doubleValue() < 0.01, is(true));
+    }
+
+    @Test
+    void should_batch_query_vectors_from_file() throws Exception {
+        createVectors();
+
+        ByteArrayOutputStream ion = new ByteArrayOutputStream();
+        FileSerde.writeAll(ion, Flux.just(
+            Map.of("id", "first", "vector", List.of(0D, 1D, 0D)),
+            Map.of("id", "second", "vector", List.of(0D, 0D, 1D)),
+            Map.of("vector", List.of(1D, 0.1D, 0D))
+        )).block();
+        URI source = storageInterface.put(
+            TenantService.MAIN_TENANT,
+            null,
+            new URI("/" + FriendlyId.createFriendlyId() + ".ion"),
+            new ByteArrayInputStream(ion.toByteArray())
+        );
+
+        VectorSearch task = task()
+            .from(Property.ofValue(source.toString()))
+            .k(Property.ofValue(1))
+            .batchSize(Property.ofValue(2))
+            .build();
+
+        VectorSearch.Output output = task.run(runContextFactory.of(Map.of()));
+        assertThat(output.getSize(), is(3L));
+
+        List<Map<String, Object>> rows = read(output.getUri());
+        assertThat(rows.get(0).get("queryId"), is("first"));
+        assertThat(((List<Map<String, Object>>) rows.get(0).get("hits")).getFirst().get("id"), is("y"));
+        assertThat(rows.get(1).get("queryId"), is("second"));
+        assertThat(((List<Map<String, Object>>) rows.get(1).get("hits")).getFirst().get("id"), is("z"));
+        assertThat(rows.get(2).get("queryId"), is(2));
+        assertThat(((List<Map<String, Object>>) rows.get(2).get("hits")).getFirst().get("id"), is("x"));
+    }
+
+    @Test
+    void should_send_small_components_as_plain_decimals() throws Exception {
+        createVectors();
+
+        VectorSearch task = task()
+            .vector(Property.ofValue(List.of(1e-5D, 1D, 2.5e-7D)))
+            .k(Property.ofValue(1))
+            .distanceThreshold(Property.ofValue(1e-1D))
+            .build();
+
+        VectorSearch.Output output = task.run(runContextFactory.of(Map.of()));
+
+        List<Map<String, Object>> rows = read(output.getUri());
+        assertThat(((List<Map<String, Object>>) rows.getFirst().get("hits")).getFirst().get("id"), is("y"));
+    }
+
+    @Test
+    void should_format_plain_decimals() {
+        assertThat(VectorSearch.appendPlain(new StringBuilder(), Float.toString(1e-5F)).toString(), is("0.00001"));
+        assertThat(VectorSearch.appendPlain(new StringBuilder(), Float.toString(-2.5e8F)).toString(), is("-250000000"));
+        assertThat(VectorSearch.appendPlain(new StringBuilder(), Float.toString(0.25F)).toString(), is("0.25"));
+    }
+
+    @Test
+    void should_reject_non_finite_components() {
+        VectorSearch task = task()
+            .vector(Property.ofValue(List.of(1D, Double.NaN, 0D)))
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> task.run(runContextFactory.of(Map.of())));
+    }
+
+    private VectorSearch.VectorSearchBuilder<?, ?> task() {
+        return VectorSearch.builder()
+            .apiKey(Property.ofValue(KEY))
+            .port(Property.ofValue(PORT))
+            .host(Property.ofValue(HOST))
+            .collection(Property.ofValue(VECTORS))
+            .vectorField(Property.ofValue("embedding"));
+    }
+
+    private static void createVectors() throws Exception {
+        try {
+            client.collections().create(new CollectionSchema()
+                .name(VECTORS)
+                .fields(List.of(
+                    new Field().name("label").type(FieldTypes.STRING),
+                    new Field().name("embedding").type(FieldTypes.FLOAT_ARRAY).numDim(3)
+                ))
+            );
+        } catch (ObjectAlreadyExists e) {
+            // created by a previous test
+        }
+
+        client.collections(VECTORS).documents().upsert(Map.of("id", "x", "label", "x", "embedding", List.of(1D, 0D, 0D)));
+        client.collections(VECTORS).documents().upsert(Map.of("id", "y", "label", "y", "embedding", List.of(0D, 1D, 0D)));
+        client.collections(VECTORS).documents().upsert(Map.of("id", "z", "label", "z", "embedding", List.of(0D, 0D, 1D)));
+    }
+
+    private List<Map<String, Object>> read(URI uri) throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        FileSerde.read(
+            new BufferedInputStream(storageInterface.get(TenantService.MAIN_TENANT, null, uri)),
+            r -> rows.add((Map<String, Object>) r)
+        );
+        return rows;
+    }
+}
@@ -0,0 +1,61 @@
+package io.kestra.plugin.typesense;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class WriteRateLimiterTest {
+    private static final TypesenseSettings SETTINGS = new TypesenseSettings(
+        List.of(new TypesenseNode("http", "localhost", "8108")),
+        null,
+        "test-key",
+        TypesenseSettings.DEFAULT_CONNECTION_TIMEOUT,
+        null,
+        TypesenseSettings.DEFAULT_HEALTHCHECK_INTERVAL,
+        TypesenseSettings.DEFAULT_NUM_RETRIES,
+        TypesenseSettings.DEFAULT_RETRY_INTERVAL
+    );
+
+    @Test
+    void should_wait_once_the_burst_is_spent() throws Exception {
+        WriteRateLimiter limiter = WriteRateLimiter.of(SETTINGS, 1000L, null, false);
+
+        assertThat(limiter.acquire(1000, 0), is(0L));
+        // 500 documents of debt at 1000 per second
+        assertThat(Duration.ofNanos(limiter.acquire(500, 0)).toMillis(), greaterThan(400L));
+    }
+
+    @Test
+    void should_limit_on_bytes() throws Exception {
+        WriteRateLimiter limiter = WriteRateLimiter.of(SETTINGS, null, 1_000_000L, false);
+
+        assertThat(limiter.acquire(1, 1_000_000), is(0L));
+        assertThat(Duration.ofNanos(limiter.acquire(1, 200_000)).toMillis(), greaterThan(150L));
+    }
+
+    @Test
+    void should_share_limiters_with_same_cluster_and_rates() {
+        assertThat(WriteRateLimiter.of(SETTINGS, null, null, true), nullValue());
+        assertThat(WriteRateLimiter.of(SETTINGS, 100L, null, true), sameInstance(WriteRateLimiter.of(SETTINGS, 100L, null, true)));
+        assertThat(WriteRateLimiter.of(SETTINGS, 100L, null, true), not(sameInstance(WriteRateLimiter.of(SETTINGS, 200L, null, true))));
+        assertThat(WriteRateLimiter.of(SETTINGS, 100L, null, false), not(sameInstance(WriteRateLimiter.of(SETTINGS, 100L, null, false))));
+    }
+
+    @Test
+    void should_cap_shared_limiters() {
+        for (long rate = 1; rate <= TypesenseConnections.MAX_ENTRIES + 10; rate++) {
+            WriteRateLimiter.of(SETTINGS, rate, null, true);
+        }
+
+        assertThat(WriteRateLimiter.sharedSize(), lessThanOrEqualTo(TypesenseConnections.MAX_ENTRIES));
+    }
+}
@@ -85,12 +85,17 @@ public class TypesenseContainer {
     }
 
     protected Map<String, Object> getResults(Output runOutput, StorageInterface storageInterface)
+        throws IOException {
+        return getAllResults(runOutput, storageInterface).getFirst();
+    }
+
+    protected List<Map<String, Object>> getAllResults(Output runOutput, StorageInterface storageInterface)
         throws IOException {
         InputStream searchInputStream = new BufferedInputStream(
             storageInterface.get(TenantService.MAIN_TENANT, null, runOutput.getUri())
         );
         List<Map<String, Object>> resultWrapper = new ArrayList<>();
         FileSerde.read(searchInputStream, r -> resultWrapper.add((Map<String, Object>) r));
-        return resultWrapper.getFirst();
+        return resultWrapper;
     }
 }